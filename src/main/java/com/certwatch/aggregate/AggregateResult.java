@@ -0,0 +1,160 @@
+package com.certwatch.aggregate;
+
+import com.certwatch.entity.CheckDTO;
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 한 번의 전체 실행 집계 결과입니다.
+ * - top : 알림/응답용 상위 결과 (만료 임박 K건 + 실패 K건, 정렬됨)
+ * - 전체 정렬 결과는 메모리 또는 디스크(스필 병합 파일)에 있으며 forEachSorted 로 스트리밍
+ * - find : 압축 색인(ResultIndex)으로 호스트:포트 1건 조회
+ * - 읽는 쪽은 retain/release 로 참조를 잡고, discard 후에도 마지막 참조가 풀릴 때 파일을 삭제
+ */
+@Getter
+public class AggregateResult {
+
+    private final String type;
+    private final Instant finishedAt = Instant.now();
+    private final List<CheckDTO> top;
+    private final long total;
+    private final long failed;
+    /** 알림 대상(실패 또는 임계치 이하) 전체 건수 */
+    private final long alerting;
+    /** 알림 대상 중 top 에 들지 못해 개별 알림이 나가지 않는 건수 */
+    private final long alertOverflow;
+
+    /** 메모리에 정렬된 전체 결과 (스필한 경우 null) */
+    @Getter(lombok.AccessLevel.NONE)
+    private final List<CheckDTO> sorted;
+
+    /** 디스크에 병합된 전체 정렬 결과 (스필하지 않은 경우 null) */
+    @Getter(lombok.AccessLevel.NONE)
+    private final Path sortedFile;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final ResultIndex index;
+
+    /** 보유자(결과 저장소) 1 + 읽는 중인 스트림 수 (0 이 되면 파일 삭제) */
+    @Getter(lombok.AccessLevel.NONE)
+    private final AtomicInteger refs = new AtomicInteger(1);
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final AtomicBoolean discarded = new AtomicBoolean();
+
+    /** find 용 위치 지정 읽기 채널 (처음 조회할 때 열림) */
+    @Getter(lombok.AccessLevel.NONE)
+    private FileChannel channel;
+
+    AggregateResult(String type, List<CheckDTO> top, long total, long failed, long alerting, long thresholdDays,
+                    List<CheckDTO> sorted, Path sortedFile, ResultIndex index) {
+        this.type = type;
+        this.top = top;
+        this.total = total;
+        this.failed = failed;
+        this.alerting = alerting;
+        long inTop = top.stream().filter(r -> ResultAggregator.isAlert(r, thresholdDays)).count();
+        this.alertOverflow = alerting - inTop;
+        this.sorted = sorted;
+        this.sortedFile = sortedFile;
+        this.index = index;
+    }
+
+    /** 디스크로 스필했는지 여부 */
+    public boolean isSpilled() {
+        return sortedFile != null;
+    }
+
+    /** 전체 결과를 정렬 순서대로 하나씩 전달 (디스크에 있으면 순차로 읽음) */
+    public void forEachSorted(Consumer<CheckDTO> sink) throws IOException {
+        if (sortedFile == null) {
+            sorted.forEach(sink);
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(sortedFile), 64 * 1024))) {
+            for (long i = 0; i < total; i++) sink.accept(CheckCodec.read(in));
+        }
+    }
+
+    /**
+     * 호스트:포트로 1건 조회 (없으면 null)
+     * - 디스크 결과는 색인의 블록 오프셋부터 해당 순번까지 읽음 (최대 BLOCK 건)
+     */
+    public CheckDTO find(String host, int port) throws IOException {
+        for (int ordinal : index.candidates(host, port)) {
+            CheckDTO r = sortedFile == null ? sorted.get(ordinal) : readAt(ordinal);
+            if (r.port == port && r.host.equalsIgnoreCase(host)) return r;
+        }
+        return null;
+    }
+
+    private CheckDTO readAt(int ordinal) throws IOException {
+        long offset = index.blockOffset(ordinal);
+        int skip = ordinal % ResultIndex.BLOCK;
+        FileChannel ch = channel();
+        for (int size = 16 * 1024; ; size *= 4) {
+            ByteBuffer buf = ByteBuffer.allocate(size);
+            while (buf.hasRemaining() && ch.read(buf, offset + buf.position()) > 0) {
+                // 끝까지 채우거나 파일 끝까지 읽음
+            }
+            boolean full = !buf.hasRemaining();
+            buf.flip();
+            try {
+                for (int i = 0; i < skip; i++) CheckCodec.read(buf);
+                return CheckCodec.read(buf);
+            } catch (BufferUnderflowException e) {
+                // 버퍼가 모자라면 키워서 다시 읽고, 파일 끝이면 손상된 파일
+                if (!full) throw new IOException("정렬 결과 파일이 예상보다 짧습니다: " + sortedFile);
+            }
+        }
+    }
+
+    private synchronized FileChannel channel() throws IOException {
+        if (channel == null) channel = FileChannel.open(sortedFile, StandardOpenOption.READ);
+        return channel;
+    }
+
+    /** 읽기 참조 획득 (이미 정리된 결과면 false → 호출 측에서 최신 결과로 다시 시도) */
+    public boolean retain() {
+        for (;;) {
+            int n = refs.get();
+            if (n <= 0) return false;
+            if (refs.compareAndSet(n, n + 1)) return true;
+        }
+    }
+
+    /** 읽기 참조 반환 (마지막 참조면 디스크 파일 정리) */
+    public void release() {
+        if (refs.decrementAndGet() == 0) deleteFile();
+    }
+
+    /**
+     * 보유자 참조 반환 (다음 실행 결과로 교체될 때 호출)
+     * - 스트리밍 중인 읽기가 있으면 그 읽기가 끝난 뒤 파일 삭제
+     */
+    public void discard() {
+        if (discarded.compareAndSet(false, true)) release();
+    }
+
+    private synchronized void deleteFile() {
+        if (sortedFile == null) return;
+        try {
+            if (channel != null) channel.close();
+            Files.deleteIfExists(sortedFile);
+        } catch (IOException ignored) {}
+    }
+}
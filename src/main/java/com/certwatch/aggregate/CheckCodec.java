@@ -0,0 +1,107 @@
+package com.certwatch.aggregate;
+
+import com.certwatch.entity.CheckDTO;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * CheckDTO 바이너리 직렬화 (스냅샷 파일, 정렬 스필 파일 공용).
+ * - 문자열: int 길이(-1 이면 null) + UTF-8 바이트
+ * - Instant: epoch millis (없으면 Long.MIN_VALUE)
+ */
+public final class CheckCodec {
+
+    /** Instant 가 없을 때 기록하는 값 */
+    private static final long NO_INSTANT = Long.MIN_VALUE;
+
+    private CheckCodec() {
+    }
+
+    public static void write(DataOutput out, CheckDTO r) throws IOException {
+        writeString(out, r.type);
+        writeString(out, r.host);
+        out.writeInt(r.port);
+        out.writeBoolean(r.ok);
+        writeString(out, r.error);
+        writeInstant(out, r.notAfter);
+        out.writeLong(r.daysLeft);
+        out.writeLong(r.elapsedMs);
+        writeInstant(out, r.checkedAt);
+    }
+
+    public static CheckDTO read(DataInput in) throws IOException {
+        CheckDTO r = new CheckDTO();
+        r.type = readString(in);
+        r.host = readString(in);
+        r.port = in.readInt();
+        r.ok = in.readBoolean();
+        r.error = readString(in);
+        r.notAfter = readInstant(in.readLong());
+        r.daysLeft = in.readLong();
+        r.elapsedMs = in.readLong();
+        r.checkedAt = readInstant(in.readLong());
+        return r;
+    }
+
+    public static CheckDTO read(ByteBuffer buf) {
+        CheckDTO r = new CheckDTO();
+        r.type = readString(buf);
+        r.host = readString(buf);
+        r.port = buf.getInt();
+        r.ok = buf.get() != 0;
+        r.error = readString(buf);
+        r.notAfter = readInstant(buf.getLong());
+        r.daysLeft = buf.getLong();
+        r.elapsedMs = buf.getLong();
+        r.checkedAt = readInstant(buf.getLong());
+        return r;
+    }
+
+    /** write 로 기록될 바이트 수 (스필 파일 내 레코드 오프셋 계산용) */
+    public static long size(CheckDTO r) {
+        return stringSize(r.type) + stringSize(r.host) + 4 + 1 + stringSize(r.error) + 8 * 4;
+    }
+
+    public static void writeString(DataOutput out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) return null;
+        byte[] b = new byte[len];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    public static String readString(ByteBuffer buf) {
+        int len = buf.getInt();
+        if (len < 0) return null;
+        byte[] b = new byte[len];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static long stringSize(String s) {
+        return 4 + (s == null ? 0 : s.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    public static void writeInstant(DataOutput out, Instant t) throws IOException {
+        out.writeLong(t == null ? NO_INSTANT : t.toEpochMilli());
+    }
+
+    public static Instant readInstant(long v) {
+        return v == NO_INSTANT ? null : Instant.ofEpochMilli(v);
+    }
+}
@@ -0,0 +1,351 @@
+package com.certwatch.aggregate;
+
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.CheckDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * 점검 결과를 완료되는 순서대로 받아 정렬/요약하는 집계기입니다. (한 번의 실행 전용)
+ * - 알림/응답용으로는 만료 임박(성공) 상위 K건과 실패 상위 K건만 힙으로 유지
+ * - 전체 정렬 결과는 메모리 예산(건수)까지만 버퍼링하고, 넘으면 정렬된 런을 디스크로 내린 뒤 k-way 병합
+ * - 정렬 순서: 성공 건은 daysLeft 오름차순, 실패 건은 마지막 (같으면 호스트명, 포트)
+ */
+public class ResultAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultAggregator.class);
+
+    /** 결과 정렬 순서 (박싱 없이 원시값 비교) */
+    public static final Comparator<CheckDTO> ORDER = ResultAggregator::compare;
+
+    /** 한 번에 병합할 최대 런 수 (열린 파일 수 상한) */
+    private static final int MAX_FAN_IN = 64;
+
+    /** 스필 파일 입출력 버퍼 크기 */
+    private static final int IO_BUFFER = 64 * 1024;
+
+    private final String type;
+    private final int topK;
+    private final int memoryBudget;
+    private final Path spillDir;
+    private final long thresholdDays;
+
+    /** 상위 K건 유지용 힙 (가장 덜 급한 항목이 머리 → 넘치면 버림) */
+    private final PriorityQueue<CheckDTO> soonest;
+    private final PriorityQueue<CheckDTO> failing;
+
+    /** 아직 디스크로 내리지 않은 결과 */
+    private List<CheckDTO> buffer = new ArrayList<>();
+
+    /** 디스크로 내린 정렬 런 */
+    private final List<Run> runs = new ArrayList<>();
+
+    /** 스필 실패 시 이후로는 메모리에만 유지 */
+    private boolean spillDisabled;
+
+    /** 잠금 밖에서 정렬/기록 중인 스필이 있는지 */
+    private boolean spilling;
+
+    private long total;
+    private long failed;
+    private long alerting;
+    private boolean finished;
+
+    /**
+     * @param type          점검 타입 (SSL/Domain, 스필 파일명에 사용)
+     * @param topK          알림/응답용으로 유지할 성공·실패 각각의 상위 건수
+     * @param memoryBudget  메모리에 버퍼링할 최대 결과 수 (넘으면 디스크로 스필)
+     * @param spillDir      스필 파일 디렉터리
+     * @param thresholdDays 알림 임계치 (남은 일수)
+     */
+    public ResultAggregator(String type, int topK, int memoryBudget, Path spillDir, long thresholdDays) {
+        this.type = type;
+        this.topK = Math.max(1, topK);
+        this.memoryBudget = Math.max(1, memoryBudget);
+        this.spillDir = spillDir;
+        this.thresholdDays = thresholdDays;
+        this.soonest = new PriorityQueue<>(ORDER.reversed());
+        this.failing = new PriorityQueue<>(ORDER.reversed());
+    }
+
+    /** 설정(certwatch.aggregate.*, threshold-days)으로 집계기 생성 */
+    public static ResultAggregator of(String type, CertwatchProperties props) {
+        CertwatchProperties.Aggregate cfg = props.getAggregate();
+        Path dir = cfg.getSpillDir() == null || cfg.getSpillDir().isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "certwatch-aggregate")
+                : Path.of(cfg.getSpillDir());
+        return new ResultAggregator(type, cfg.getTopK(), cfg.getMemoryBudget(), dir, props.getThresholdDays());
+    }
+
+    /**
+     * 결과 1건 반영 (여러 점검 스레드에서 동시에 호출 가능)
+     * - 버퍼가 예산에 이르면 잠금 안에서는 버퍼만 떼어 내고, 정렬/기록은 잠금 밖에서 (다른 스레드의 반영을 막지 않음)
+     * - 스필은 한 번에 하나만 진행 (진행 중에 버퍼가 또 차면 그 스레드만 대기 → 메모리는 예산의 2배 이내)
+     */
+    public void accept(CheckDTO r) {
+        List<CheckDTO> full;
+        synchronized (this) {
+            if (finished) throw new IllegalStateException("이미 종료된 집계입니다.");
+            total++;
+            if (!r.ok) failed++;
+            if (isAlert(r, thresholdDays)) alerting++;
+
+            // 1) 상위 K 힙 갱신
+            PriorityQueue<CheckDTO> heap = r.ok ? soonest : failing;
+            if (heap.size() < topK) {
+                heap.add(r);
+            } else if (compare(r, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(r);
+            }
+
+            // 2) 전체 결과 버퍼링 (예산 초과 시 떼어 내서 정렬 런으로 스필)
+            buffer.add(r);
+            if (buffer.size() < memoryBudget || spillDisabled) return;
+            awaitSpill();
+            if (buffer.size() < memoryBudget || spillDisabled) return;
+            full = buffer;
+            buffer = new ArrayList<>();
+            spilling = true;
+        }
+        spill(full);
+    }
+
+    /**
+     * 집계를 마칩니다.
+     * - 스필이 없었으면 메모리에서 정렬, 있었으면 남은 버퍼도 내린 뒤 런들을 하나의 정렬 파일로 병합
+     */
+    public synchronized AggregateResult finish() {
+        if (finished) throw new IllegalStateException("이미 종료된 집계입니다.");
+        finished = true;
+        awaitSpill();
+
+        // 1) 상위 목록 (만료 임박 순 → 실패 순)
+        List<CheckDTO> top = drainSorted(soonest);
+        top.addAll(drainSorted(failing));
+
+        // 2) 전체 정렬
+        if (runs.isEmpty()) {
+            buffer.sort(ORDER);
+            ResultIndex.Builder index = new ResultIndex.Builder(buffer.size(), false);
+            for (CheckDTO r : buffer) index.add(r.host, r.port, 0);
+            return new AggregateResult(type, top, total, failed, alerting, thresholdDays, buffer, null, index.build());
+        }
+        try {
+            if (!buffer.isEmpty()) runs.add(writeRun(buffer));
+            buffer = null;
+            Run merged = mergeAll();
+            runs.add(merged);
+            ResultIndex index = indexRun(merged);
+            runs.clear();
+            return new AggregateResult(type, top, total, failed, alerting, thresholdDays, null, merged.path, index);
+        } catch (IOException e) {
+            discardRuns();
+            throw new UncheckedIOException("정렬 결과 병합 실패", e);
+        }
+    }
+
+    /**
+     * 집계를 마치지 않고 버립니다. (실행이 도중에 실패한 경우)
+     * - 진행 중인 스필이 끝나길 기다린 뒤 디스크에 내린 런을 모두 삭제, 이미 종료된 집계면 아무것도 하지 않음
+     */
+    public synchronized void discard() {
+        if (finished) return;
+        finished = true;
+        awaitSpill();
+        buffer = null;
+        soonest.clear();
+        failing.clear();
+        discardRuns();
+    }
+
+    /** 알림 대상 여부 (점검 실패 또는 남은 일수 <= 임계치) */
+    public static boolean isAlert(CheckDTO r, long thresholdDays) {
+        return !r.ok || r.daysLeft <= thresholdDays;
+    }
+
+    private static int compare(CheckDTO a, CheckDTO b) {
+        int c = Long.compare(a.ok ? a.daysLeft : Long.MAX_VALUE, b.ok ? b.daysLeft : Long.MAX_VALUE);
+        if (c != 0) return c;
+        c = a.host.compareTo(b.host);
+        return c != 0 ? c : Integer.compare(a.port, b.port);
+    }
+
+    private static List<CheckDTO> drainSorted(PriorityQueue<CheckDTO> heap) {
+        List<CheckDTO> out = new ArrayList<>(heap);
+        heap.clear();
+        out.sort(ORDER);
+        return out;
+    }
+
+    /** 떼어 낸 버퍼를 잠금 밖에서 정렬/기록하고 런 목록에 추가 (실패하면 버퍼로 되돌리고 메모리 유지로 전환) */
+    private void spill(List<CheckDTO> items) {
+        Run run = null;
+        IOException error = null;
+        try {
+            run = writeRun(items);
+        } catch (IOException e) {
+            error = e;
+        }
+        synchronized (this) {
+            if (run != null) {
+                runs.add(run);
+            } else {
+                // 디스크 문제로 결과를 잃지 않도록 메모리 유지로 전환
+                spillDisabled = true;
+                buffer.addAll(items);
+                log.warn("[{}] 결과 스필 실패, 메모리에 유지합니다: {}", type, error.toString());
+            }
+            spilling = false;
+            notifyAll();
+        }
+    }
+
+    /** 진행 중인 스필이 끝날 때까지 대기 (this 잠금 상태에서 호출) */
+    private void awaitSpill() {
+        boolean interrupted = false;
+        while (spilling) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                // 결과를 잃지 않도록 스필이 끝날 때까지 기다린 뒤 인터럽트 상태 복원
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /** 버퍼를 정렬해 런 파일 1개로 기록 */
+    private Run writeRun(List<CheckDTO> items) throws IOException {
+        items.sort(ORDER);
+        Path file = newSpillFile("run");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER))) {
+            for (CheckDTO r : items) CheckCodec.write(out, r);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new Run(file, items.size());
+    }
+
+    /** 런이 하나가 될 때까지 최대 MAX_FAN_IN 개씩 병합 */
+    private Run mergeAll() throws IOException {
+        while (runs.size() > 1) {
+            List<Run> group = new ArrayList<>(runs.subList(0, Math.min(MAX_FAN_IN, runs.size())));
+            Run merged = merge(group);
+            runs.subList(0, group.size()).clear();
+            runs.add(merged);
+            for (Run r : group) Files.deleteIfExists(r.path);
+        }
+        return runs.remove(0);
+    }
+
+    /** k-way 병합 (각 런의 현재 머리만 메모리에 유지) */
+    private Run merge(List<Run> group) throws IOException {
+        Path file = newSpillFile("merged");
+        PriorityQueue<RunReader> heads = new PriorityQueue<>((a, b) -> compare(a.head, b.head));
+        List<RunReader> readers = new ArrayList<>();
+        long count = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER))) {
+            for (Run r : group) {
+                RunReader reader = new RunReader(r);
+                readers.add(reader);
+                if (reader.advance()) heads.add(reader);
+            }
+            while (!heads.isEmpty()) {
+                RunReader reader = heads.poll();
+                CheckCodec.write(out, reader.head);
+                count++;
+                if (reader.advance()) heads.add(reader);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        } finally {
+            for (RunReader reader : readers) reader.close();
+        }
+        return new Run(file, count);
+    }
+
+    /** 병합된 정렬 파일을 한 번 순차로 읽어 조회용 색인 생성 */
+    private static ResultIndex indexRun(Run run) throws IOException {
+        ResultIndex.Builder index = new ResultIndex.Builder(run.count, true);
+        try (RunReader reader = new RunReader(run)) {
+            while (reader.advance()) index.add(reader.head.host, reader.head.port, CheckCodec.size(reader.head));
+        }
+        return index.build();
+    }
+
+    private Path newSpillFile(String kind) throws IOException {
+        Files.createDirectories(spillDir);
+        return Files.createTempFile(spillDir, type.toLowerCase(Locale.ROOT) + "-" + kind + "-", ".bin");
+    }
+
+    private void discardRuns() {
+        for (Run r : runs) {
+            try {
+                Files.deleteIfExists(r.path);
+            } catch (IOException ignored) {}
+        }
+        runs.clear();
+    }
+
+    /** 디스크에 기록된 정렬 런 */
+    private static final class Run {
+        final Path path;
+        final long count;
+
+        Run(Path path, long count) {
+            this.path = path;
+            this.count = count;
+        }
+    }
+
+    /** 런을 순차로 읽는 커서 */
+    private static final class RunReader implements Closeable {
+        private final DataInputStream in;
+        private long remaining;
+        CheckDTO head;
+
+        RunReader(Run run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.path), IO_BUFFER));
+            this.remaining = run.count;
+        }
+
+        /** 다음 항목을 head 로 읽음 (없으면 false) */
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                head = null;
+                return false;
+            }
+            try {
+                head = CheckCodec.read(in);
+            } catch (EOFException e) {
+                throw new IOException("스필 파일이 예상보다 짧습니다.", e);
+            }
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.certwatch.aggregate;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 정렬 결과에서 호스트:포트로 한 건을 찾기 위한 압축 색인입니다.
+ * - 대상 1건당 long 1개: (키 해시 << 32) | 정렬 순번 → 해시 순으로 정렬해 이진 탐색
+ * - 디스크 결과는 BLOCK 건마다 바이트 오프셋만 기록 (해당 블록 시작부터 순번까지 순차로 읽음)
+ * - 해시 충돌은 호출 측에서 실제 레코드의 host/port 로 확인
+ */
+final class ResultIndex {
+
+    /** 오프셋을 기록하는 간격 (건수) */
+    static final int BLOCK = 64;
+
+    private final long[] entries;
+    private final long[] blockOffsets;
+
+    private ResultIndex(long[] entries, long[] blockOffsets) {
+        this.entries = entries;
+        this.blockOffsets = blockOffsets;
+    }
+
+    /** 색인 키 해시 (호스트는 대소문자 무시) */
+    static int hash(String host, int port) {
+        return (host.toLowerCase(Locale.ROOT) + ":" + port).hashCode();
+    }
+
+    /** 같은 해시를 가진 정렬 순번들 (오름차순) */
+    int[] candidates(String host, int port) {
+        long lo = (long) hash(host, port) << 32;
+        long hi = lo | 0x7fffffffL;
+        int from = lowerBound(lo);
+        int to = from;
+        while (to < entries.length && entries[to] <= hi) to++;
+        int[] out = new int[to - from];
+        for (int i = from; i < to; i++) out[i - from] = (int) entries[i];
+        return out;
+    }
+
+    /** 순번이 속한 블록의 시작 오프셋 (디스크 결과 전용) */
+    long blockOffset(int ordinal) {
+        return blockOffsets[ordinal / BLOCK];
+    }
+
+    private int lowerBound(long key) {
+        int lo = 0;
+        int hi = entries.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entries[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** 정렬 순서대로 레코드를 받아 색인 생성 */
+    static final class Builder {
+        private final long[] entries;
+        private final long[] blockOffsets;
+        private int count;
+        private long offset;
+
+        /**
+         * @param total  전체 건수
+         * @param onDisk 디스크 결과 여부 (블록 오프셋 기록)
+         */
+        Builder(long total, boolean onDisk) {
+            if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("색인 가능한 건수를 넘었습니다: " + total);
+            this.entries = new long[(int) total];
+            this.blockOffsets = onDisk ? new long[(int) ((total + BLOCK - 1) / BLOCK)] : null;
+        }
+
+        /** 다음 순번 레코드 추가 (size: 디스크에 기록된 바이트 수) */
+        void add(String host, int port, long size) {
+            if (blockOffsets != null && count % BLOCK == 0) blockOffsets[count / BLOCK] = offset;
+            entries[count] = ((long) hash(host, port) << 32) | count;
+            count++;
+            offset += size;
+        }
+
+        ResultIndex build() {
+            if (count != entries.length) throw new IllegalStateException("색인 건수 불일치: " + count + "/" + entries.length);
+            Arrays.sort(entries);
+            return new ResultIndex(entries, blockOffsets);
+        }
+    }
+}
@@ -7,7 +7,9 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * application.properties 의 "certwatch.*" 키들을 객체로 바인딩하는 설정 클래스입니다.
@@ -21,11 +23,8 @@ import java.util.List;
 @Setter
 public class CertwatchProperties {
 
-    /** 스케줄러 활성화 여부 (true면 cron에 따라 자동 실행) */
-    private boolean schedulingEnabled = true;
-
-    /** 스케줄 실행 주기 (Spring Cron 식) */
-    private String schedulingCron = "0 0 9 * * *";
+    /** 스케줄 실행 설정 (certwatch.scheduling.*) */
+    private Scheduling scheduling = new Scheduling();
 
     /** 만료 임계치(일) : 이 값 이하로 남았으면 알림 대상 */
     private int thresholdDays = 30;
@@ -33,9 +32,12 @@ public class CertwatchProperties {
     /** 호스트당 소켓 타임아웃(초) */
     private int timeoutSeconds = 10;
 
-    /** 동시 체크 스레드 수 */
+    /** 동시 체크 스레드 수 (적응형 동시성 사용 시에는 초기 상한) */
     private int workers = 20;
 
+    /** 적응형 동시성 제어 설정 */
+    private Concurrency concurrency = new Concurrency();
+
     /** 쉼표로 나열한 타깃 호스트 목록 (host 또는 host:port) */
     private List<String> targets = new ArrayList<>();
 
@@ -45,6 +47,55 @@ public class CertwatchProperties {
     /** 텔레그램 관련 설정 (token/chatId) */
     private Telegram telegram = new Telegram();
 
+    /** 웹훅 알림 채널 설정 */
+    private Webhook webhook = new Webhook();
+
+    /** 알림 발송(큐/재시도/dead-letter) 설정 */
+    private Notify notify = new Notify();
+
+    /** 목적지(IP/서브넷)별 동시 접속 제한 설정 */
+    private Destination destination = new Destination();
+
+    /** 스냅샷(웜 스타트) 관련 설정 */
+    private Snapshot snapshot = new Snapshot();
+
+    /** 실행 결과 집계(상위 K, 디스크 스필) 설정 */
+    private Aggregate aggregate = new Aggregate();
+
+    /** RDAP 실패 시 WHOIS(43번 포트) 폴백 설정 */
+    private Whois whois = new Whois();
+
+    /** 점검 파이프라인 설정 */
+    private Pipeline pipeline = new Pipeline();
+
+    @ToString
+    @Getter
+    @Setter
+    public static class Scheduling {
+        /** 스케줄러 활성화 여부 (true면 cron에 따라 자동 실행) */
+        private boolean enabled = true;
+        /** 스케줄 실행 주기 (Spring Cron 식) */
+        private String cron = "0 0 9 * * *";
+        /** 한 번의 실행에서 점검 시작을 고르게 펼칠 시간 창(분) (0 이면 cron 시각에 전부 시작) */
+        private long windowMinutes = 60;
+        /** 창 안에서 순간적으로 함께 시작할 수 있는 최대 점검 수 (토큰 버킷 크기) */
+        private int burst = 10;
+        /** SSL 인증서 점검 실행 여부 */
+        private boolean ssl = true;
+        /** 도메인 만료 점검 실행 여부 */
+        private boolean domain = true;
+    }
+
+    @ToString
+    @Getter
+    @Setter
+    public static class Pipeline {
+        /** 스테이지 사이 큐 크기 (가득 차면 앞 스테이지가 대기 → 진행 중 타깃 수 상한) */
+        private int queueCapacity = 1000;
+        /** DNS 해석 스테이지 워커 수 */
+        private int resolvers = 8;
+    }
+
     /** 내부 클래스로 텔레그램 설정을 캡슐화 */
     @ToString
     @Getter
@@ -54,8 +105,120 @@ public class CertwatchProperties {
         private String token;
         /** 메시지를 받을 개인/그룹의 Chat ID */
         private String chatId;
+        /** Bot API 주소 (테스트 시 로컬 대역 서버로 교체 가능) */
+        private String apiBaseUrl = "https://api.telegram.org";
 
     }
 
-}
+    /** 내부 클래스로 웹훅 설정을 캡슐화 */
+    @ToString
+    @Getter
+    @Setter
+    public static class Webhook {
+        /** JSON 을 POST 할 URL (비어 있으면 채널 비활성) */
+        private String url;
+    }
 
+    /** 내부 클래스로 알림 발송 설정을 캡슐화 */
+    @ToString
+    @Getter
+    @Setter
+    public static class Notify {
+        /** 채널별 대기열 크기 (가득 차면 offer-timeout 만큼 기다린 뒤 dead-letter) */
+        private int queueCapacity = 10000;
+        /** 대기열이 가득 찼을 때 enqueue 가 기다리는 최대 시간(ms) */
+        private long offerTimeoutMs = 1000;
+        /** 채널별 동시 전송 수 */
+        private int maxInFlight = 4;
+        /** 채널별 전송 간 최소 간격(ms) (간단한 rate-limit) */
+        private long minIntervalMs = 200;
+        /** 최대 시도 횟수 (초과 시 dead-letter) */
+        private int maxAttempts = 5;
+        /** 재시도 초기 백오프(ms), 시도마다 2배 */
+        private long initialBackoffMs = 1000;
+        /** 재시도 최대 백오프(ms) */
+        private long maxBackoffMs = 60000;
+        /** 요청 타임아웃(초) */
+        private int requestTimeoutSeconds = 10;
+        /** 끝내 전송하지 못한 메시지를 한 줄 JSON 으로 남길 파일 */
+        private String deadLetterPath = "./certwatch-deadletter.ndjson";
+        /** 종료 시 전송 중인 요청의 완료를 기다리는 최대 시간(ms, 넘으면 dead-letter) */
+        private long shutdownTimeoutMs = 5000;
+    }
+
+    /** 내부 클래스로 적응형 동시성 설정을 캡슐화 */
+    @ToString
+    @Getter
+    @Setter
+    public static class Concurrency {
+        /** 핸드셰이크 지연/오류율에 따라 동시 점검 수를 자동 조절할지 (false 면 workers 고정) */
+        private boolean adaptive = true;
+        /** 동시 점검 수 하한 */
+        private int min = 4;
+        /** 동시 점검 수 상한 (스레드풀 크기) */
+        private int max = 200;
+    }
+
+    /** 내부 클래스로 목적지별 동시 접속 제한을 캡슐화 */
+    @ToString
+    @Getter
+    @Setter
+    public static class Destination {
+        /** 같은 IP 로의 동시 핸드셰이크 상한 (0 이하면 무제한) */
+        private int perIp = 4;
+        /** 같은 /24(IPv6 는 /64) 서브넷으로의 동시 핸드셰이크 상한 (0 이하면 무제한) */
+        private int perSubnet = 16;
+    }
+
+    /** 내부 클래스로 스냅샷 설정을 캡슐화 */
+    @ToString
+    @Getter
+    @Setter
+    public static class Snapshot {
+        /** 스냅샷 저장/복원 사용 여부 */
+        private boolean enabled = true;
+        /** 스냅샷 파일 경로 (상대/절대 모두 가능) */
+        private String path = "./certwatch-snapshot.bin";
+        /** 주기 저장 간격(초) */
+        private long intervalSeconds = 300;
+        /** 재기동 후 오래된 결과를 다시 점검할 때 초당 점검 수 (일시에 몰리지 않도록) */
+        private int resumePerSecond = 5;
+        /** 이 시간(시간)보다 오래된 결과는 재기동 후 다시 점검 */
+        private long staleAfterHours = 24;
+    }
+
+    @ToString
+    @Getter
+    @Setter
+    public static class Aggregate {
+        /** 알림/응답용으로 유지할 상위 건수 (만료 임박, 실패 각각) */
+        private int topK = 1000;
+        /** 메모리에 버퍼링할 최대 결과 수 (넘으면 정렬 후 디스크로 스필) */
+        private int memoryBudget = 100_000;
+        /** 스필 파일 디렉터리 (비우면 시스템 임시 디렉터리/certwatch-aggregate) */
+        private String spillDir = "";
+    }
+
+    @ToString
+    @Getter
+    @Setter
+    public static class Whois {
+        /** RDAP 이 실패하거나 만료 이벤트가 없을 때 WHOIS 로 조회할지 */
+        private boolean enabled = true;
+        /** TLD → WHOIS 서버("host[:port]") 재정의 (예: certwatch.whois.servers.kr=127.0.0.1:4343) */
+        private Map<String, String> servers = new LinkedHashMap<>();
+        /** 서버당 동시 연결 상한 */
+        private int perServer = 2;
+        /** 같은 서버로의 요청 간 최소 간격(ms) (레지스트리 조회 제한 회피) */
+        private long minIntervalMs = 1000;
+        /** 연결/응답 타임아웃(초) */
+        private int timeoutSeconds = 10;
+        /** 조회 성공 결과 캐시 기간(시간) (만료일은 자주 바뀌지 않음) */
+        private long cacheTtlHours = 72;
+        /** 조회 실패 결과 캐시 기간(분) (실패 도메인으로 서버를 반복 호출하지 않도록) */
+        private long negativeTtlMinutes = 60;
+        /** 캐시 최대 항목 수 */
+        private int cacheMaxEntries = 10_000;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.certwatch.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * 알림 채널들이 공유하는 JDK HttpClient 설정입니다.
+ * - 메시지마다 클라이언트를 만들지 않고 하나를 재사용하여 커넥션(HTTP/2 멀티플렉싱)을 공유합니다.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public HttpClient notifyHttpClient(CertwatchProperties props) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)               // 서버가 지원하지 않으면 HTTP/1.1 로 자동 협상
+                .connectTimeout(Duration.ofSeconds(props.getNotify().getRequestTimeoutSeconds()))
+                .build();
+    }
+}
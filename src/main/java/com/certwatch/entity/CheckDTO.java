@@ -30,4 +30,6 @@ public class CheckDTO {
     public long daysLeft;
     /** 처리 시간(ms) */
     public long elapsedMs;
+    /** 점검 시각(UTC) */
+    public Instant checkedAt;
 }
@@ -0,0 +1,29 @@
+package com.certwatch.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스냅샷 파일에서 복원한 상태를 담는 DTO입니다.
+ * 재기동 직후 API 조회/알림 판단이 바로 가능하도록 최근 결과, 임포트 타깃, 스케줄 상태를 함께 보관합니다.
+ */
+@Getter
+@Setter
+@ToString(exclude = {"results", "importedTargets"})
+public class SnapshotDTO {
+    /** 스냅샷 저장 시각 */
+    public Instant savedAt;
+    /** 점검 타입(SSL/Domain)별 마지막 전체 실행 시각 */
+    public Map<String, Instant> lastRunAt = new HashMap<>();
+    /** API 로 임포트된 타깃 ("host:port") */
+    public List<String> importedTargets = new ArrayList<>();
+    /** 최근 점검 결과 (type 필드로 구분, 매핑된 스냅샷 파일에서 순회할 때 한 건씩 디코딩) */
+    public Iterable<CheckDTO> results = new ArrayList<>();
+}
@@ -0,0 +1,55 @@
+package com.certwatch.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 대량 타깃 임포트(/api/targets/import)의 처리 결과를 담는 DTO입니다.
+ * 컨트롤러에서 JSON으로 직렬화되어 응답됩니다.
+ */
+@Getter
+@Setter
+@ToString
+public class TargetImportResultDTO {
+    /** 입력 형식 (NDJSON or CSV) */
+    public String format;
+    /** 읽은 전체 라인 수 (빈 줄/주석 포함) */
+    public long lines;
+    /** 유효하게 파싱된 타깃 수 */
+    public long accepted;
+    /** 새로 추가된 타깃 수 */
+    public long inserted;
+    /** 이미 존재하여 갱신된 타깃 수 */
+    public long updated;
+    /** 형식 오류로 거부된 라인 수 */
+    public long rejected;
+    /** 활성 타깃 셋에 반영되었는지 여부 (strict 모드에서 오류가 있으면 false) */
+    public boolean applied;
+    /** 반영 후 임포트된 타깃 총 개수 */
+    public long importedTotal;
+    /** 라인별 오류 (최대 개수까지만 기록, 나머지는 rejected 로만 집계) */
+    public List<LineError> errors = new ArrayList<>();
+
+    /** 한 라인의 파싱/검증 오류 */
+    @Getter
+    @Setter
+    @ToString
+    public static class LineError {
+        /** 라인 번호 (1부터) */
+        public long line;
+        /** 원본 라인 (너무 길면 잘라서 기록) */
+        public String raw;
+        /** 오류 사유 */
+        public String message;
+
+        public LineError(long line, String raw, String message) {
+            this.line = line;
+            this.raw = raw;
+            this.message = message;
+        }
+    }
+}
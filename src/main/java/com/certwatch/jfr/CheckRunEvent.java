@@ -0,0 +1,42 @@
+package com.certwatch.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 점검 파이프라인 실행 1회 중 한 점검 타입 전체.
+ */
+@Name("certwatch.CheckRun")
+@Label("Check Run")
+@Category({"CertWatch", "Run"})
+@Description("타깃 목록 전체(또는 일부)를 병렬 점검한 실행 1회")
+@StackTrace(false)
+public class CheckRunEvent extends Event {
+
+    @Label("Type")
+    @Description("SSL or Domain")
+    public String type;
+
+    @Label("Targets")
+    public int targets;
+
+    @Label("Probes")
+    @Description("실제 수행한 점검 수 (같은 타깃/공유 키를 합친 뒤)")
+    public int probes;
+
+    @Label("Results")
+    public long results;
+
+    @Label("Failed")
+    public long failed;
+
+    @Label("Workers")
+    public int workers;
+
+    @Label("Virtual Thread")
+    public boolean virtualThread;
+}
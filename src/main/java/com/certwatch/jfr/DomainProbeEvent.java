@@ -0,0 +1,55 @@
+package com.certwatch.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 도메인 만료 점검 1건 (DomainProbePlugin.probe) 의 단계별 소요 시간.
+ * - RDAP 이 실패하면 WHOIS 폴백 시간이 추가로 기록됩니다.
+ */
+@Name("certwatch.DomainProbe")
+@Label("Domain Probe")
+@Category({"CertWatch", "Probe"})
+@Description("RDAP(실패 시 WHOIS) 로 도메인 만료일을 읽는 점검 1건")
+@StackTrace(false)
+public class DomainProbeEvent extends Event {
+
+    @Label("Host")
+    public String host;
+
+    @Label("Domain")
+    @Description("실제 조회한 등록 도메인")
+    public String domain;
+
+    @Label("RDAP Query")
+    @Timespan
+    public long rdap;
+
+    @Label("Parse")
+    @Description("만료 이벤트 탐색 + 날짜 파싱")
+    @Timespan
+    public long parse;
+
+    @Label("WHOIS")
+    @Description("WHOIS 폴백 (캐시 적중 시 거의 0)")
+    @Timespan
+    public long whois;
+
+    @Label("Source")
+    @Description("만료일을 얻은 곳 (RDAP / WHOIS)")
+    public String source;
+
+    @Label("Success")
+    public boolean ok;
+
+    @Label("Error")
+    public String error;
+
+    @Label("Virtual Thread")
+    public boolean virtualThread;
+}
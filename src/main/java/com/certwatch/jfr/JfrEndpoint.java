@@ -0,0 +1,157 @@
+package com.certwatch.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JFR 레코딩 제어용 액추에이터 엔드포인트입니다. (/actuator/jfr)
+ * - GET    /actuator/jfr      : 현재 레코딩 상태
+ * - POST   /actuator/jfr      : 레코딩 시작 {"settings":"default|profile", "maxAgeSeconds":600}
+ * - GET    /actuator/jfr/dump : 지금까지의 레코딩을 .jfr 파일로 내려받기 (레코딩은 계속)
+ * - DELETE /actuator/jfr      : 레코딩 중지 및 폐기
+ * 레코딩 중이 아닐 때 certwatch.* 이벤트는 생성만 되고 기록되지 않으므로 점검 경로 오버헤드는 거의 없습니다.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrEndpoint.class);
+
+    /** 레코딩 이름 (jcmd JFR.check 등에서 구분용) */
+    private static final String RECORDING_NAME = "certwatch";
+
+    /** 이미 레코딩 중일 때 응답 코드 */
+    private static final int STATUS_CONFLICT = 409;
+
+    /** 기본 보관 기간(초) */
+    private static final long DEFAULT_MAX_AGE_SECONDS = 600;
+
+    private Recording recording;
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        if (recording == null) {
+            out.put("state", "NONE");
+            return out;
+        }
+        out.put("state", recording.getState().name());
+        out.put("name", recording.getName());
+        out.put("startTime", recording.getStartTime());
+        out.put("maxAge", recording.getMaxAge());
+        out.put("size", recording.getSize());
+        return out;
+    }
+
+    /**
+     * 레코딩 시작
+     * @param settings      JFR 설정 이름 (default: 상시 켜둘 수 있는 수준 / profile: 더 자세함, 기본 default)
+     * @param maxAgeSeconds 보관 기간(초), 이보다 오래된 데이터는 버림 (기본 600)
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable String settings, @Nullable Long maxAgeSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), STATUS_CONFLICT);   // 이미 레코딩 중
+        }
+        Configuration config;
+        try {
+            config = Configuration.getConfiguration(settings == null || settings.isBlank() ? "default" : settings);
+        } catch (IOException | ParseException e) {
+            Map<String, Object> err = new LinkedHashMap<>();
+            err.put("error", "알 수 없는 JFR 설정: " + settings);
+            return new WebEndpointResponse<>(err, WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        closeRecording();
+
+        Recording r = new Recording(config);
+        r.setName(RECORDING_NAME);
+        r.setToDisk(true);
+        r.setMaxAge(Duration.ofSeconds(maxAgeSeconds == null || maxAgeSeconds <= 0 ? DEFAULT_MAX_AGE_SECONDS : maxAgeSeconds));
+        r.start();
+        recording = r;
+        log.info("JFR 레코딩 시작 (settings={}, maxAge={})", config.getName(), r.getMaxAge());
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    /** 현재까지의 레코딩을 파일로 덤프해 내려줍니다. (레코딩은 계속 진행) */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String action) throws IOException {
+        if (!"dump".equals(action) || recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile("certwatch-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new WebEndpointResponse<>(new TemporaryFileResource(file.toFile()), WebEndpointResponse.STATUS_OK);
+    }
+
+    /** 레코딩 중지 및 폐기 */
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        closeRecording();
+        return status();
+    }
+
+    private void closeRecording() {
+        if (recording == null) return;
+        recording.close();                                       // 실행 중이면 중지 후 디스크 데이터까지 정리
+        recording = null;
+        log.info("JFR 레코딩 종료");
+    }
+
+    /** 응답 전송이 끝나면(스트림 close) 지워지는 임시 파일 리소스 */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(File file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            // 파일 채널로 직접 보내지 않고 getInputStream 을 거치도록 (전송 후 삭제)
+            return false;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.certwatch.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 알림 전송 시도 1회 (텔레그램/웹훅 채널의 발송 경로).
+ * - 이벤트 자체 duration 은 대기열에서 꺼낸 시점부터 응답 수신까지
+ */
+@Name("certwatch.NotifySend")
+@Label("Notification Send")
+@Category({"CertWatch", "Notify"})
+@Description("알림 채널로의 전송 시도 1회")
+@StackTrace(false)
+public class NotifySendEvent extends Event {
+
+    @Label("Channel")
+    public String channel;
+
+    @Label("Host")
+    @Description("알림 대상 점검 결과의 호스트 (요약 메시지면 비어 있음)")
+    public String host;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Queue Wait")
+    @Description("대기열에 들어간 뒤 꺼내질 때까지")
+    @Timespan
+    public long queueWait;
+
+    @Label("Pacing Wait")
+    @Description("동시 전송 수 / 전송 간격 / 429 일시 정지 대기")
+    @Timespan
+    public long pacingWait;
+
+    @Label("Request")
+    @Description("HTTP 요청 ~ 응답 분류")
+    @Timespan
+    public long request;
+
+    @Label("Outcome")
+    @Description("OK / RETRY / FAIL / ERROR")
+    public String outcome;
+
+    @Label("Reason")
+    public String reason;
+
+    @Label("Virtual Thread")
+    public boolean virtualThread;
+}
@@ -0,0 +1,57 @@
+package com.certwatch.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * SSL 점검 1건 (SslProbePlugin.probe) 의 단계별 소요 시간.
+ * - 이벤트 자체 duration 은 점검 스레드에서 점검을 시작해 결과를 확정할 때까지 (허가 보류 시간은 permitWait 로 따로)
+ */
+@Name("certwatch.SslProbe")
+@Label("SSL Probe")
+@Category({"CertWatch", "Probe"})
+@Description("TLS 핸드셰이크로 인증서 만료일을 읽는 점검 1건")
+@StackTrace(false)
+public class SslProbeEvent extends Event {
+
+    @Label("Host")
+    public String host;
+
+    @Label("Port")
+    public int port;
+
+    @Label("Address")
+    public String address;
+
+    @Label("Resolve")
+    @Description("DNS 해석 (같은 호스트의 점검끼리 공유)")
+    @Timespan
+    public long resolve;
+
+    @Label("Permit Wait")
+    @Description("목적지 허가 + 적응형 동시성 슬롯 보류 (스레드 없이 대기)")
+    @Timespan
+    public long permitWait;
+
+    @Label("Connect")
+    @Timespan
+    public long connect;
+
+    @Label("Handshake")
+    @Timespan
+    public long handshake;
+
+    @Label("Success")
+    public boolean ok;
+
+    @Label("Error")
+    public String error;
+
+    @Label("Virtual Thread")
+    public boolean virtualThread;
+}
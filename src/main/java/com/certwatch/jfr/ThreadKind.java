@@ -0,0 +1,35 @@
+package com.certwatch.jfr;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * 현재 스레드가 가상 스레드인지 판별합니다.
+ * - Thread.isVirtual() 은 Java 21 부터 있으므로 리플렉션으로 한 번만 찾아 두고, 없으면 항상 false
+ */
+public final class ThreadKind {
+
+    private static final MethodHandle IS_VIRTUAL = find();
+
+    private ThreadKind() {
+    }
+
+    /** 현재 스레드가 가상 스레드면 true (Java 17 등 미지원 런타임은 false) */
+    public static boolean isVirtual() {
+        if (IS_VIRTUAL == null) return false;
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle find() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.certwatch.pipeline;
+
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 관측된 핸드셰이크 지연/오류로 동시 점검 수 상한을 스스로 조절하는 제한기입니다. (AIMD + 지연 기울기)
+ * - 단기 지연(EWMA)이 장기 기준 지연(느리게 오르고 빠르게 내려오는 EWMA)의 tolerance 배를 넘으면
+ *   큐잉이 생긴 것으로 보고 상한을 곱셈 감소
+ * - 연결 타임아웃 등 혼잡성 오류가 나면 곱셈 감소 (한 번의 폭주로 바닥까지 떨어지지 않도록 라운드당 1회)
+ * - 그 외 성공 시에는 1/limit 씩 덧셈 증가 (대략 한 라운드에 +1)
+ * - 상한은 항상 [min, max] 범위
+ * - 대기하지 않습니다. 슬롯은 DestinationLimiter 가 목적지 허가와 함께 tryAcquire 로 얻고, 모자라면 요청을 보류합니다.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    /** 단기/장기 지연 EWMA 가중치 (장기는 부하가 줄면 빠르게 내려오도록 하향 시 LONG_DOWN_ALPHA) */
+    private static final double SHORT_ALPHA = 0.05;
+    private static final double LONG_ALPHA = 0.0002;
+    private static final double LONG_DOWN_ALPHA = 0.05;
+
+    /** 단기 지연이 장기 지연의 몇 배를 넘으면 감소할지 */
+    private static final double TOLERANCE = 1.5;
+
+    /** 곱셈 감소 비율 */
+    private static final double BACKOFF = 0.9;
+
+    private final int min;
+    private final int max;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double limit;
+    private int inFlight;
+    private double shortRttMs = Double.NaN;
+    private double longRttMs = Double.NaN;
+    /** 마지막 감소 이후 완료된 점검 수 (한 라운드에 한 번만 감소하도록) */
+    private long sinceDecrease;
+
+    AdaptiveConcurrencyLimiter(int initial, int min, int max) {
+        this.min = Math.max(1, min);
+        this.max = Math.max(this.min, max);
+        this.limit = Math.min(this.max, Math.max(this.min, initial));
+    }
+
+    /** 상한 이내면 슬롯 획득 (대기하지 않음) */
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) return false;
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 슬롯이 남아 있는지 */
+    boolean hasRoom() {
+        lock.lock();
+        try {
+            return inFlight < (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 슬롯 반납 (점검하지 못하고 끝난 경우에도 호출, 관측값은 observe 로 따로) */
+    void release() {
+        lock.lock();
+        try {
+            if (inFlight > 0) inFlight--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 점검 1건의 결과 분류 (제한기 되먹임용) */
+    enum Signal {
+        /** 핸드셰이크 성공 (지연을 기울기 계산에 사용) */
+        SUCCESS,
+        /** 혼잡과 무관한 실패 (연결 거부, 인증서 오류 등 → 상한 유지) */
+        FAILURE,
+        /** 타임아웃/경로 없음 등 네트워크 혼잡을 의미하는 실패 (→ 곱셈 감소) */
+        CONGESTION;
+
+        /** 점검 중 잡힌 예외를 분류 (핸드셰이크 예외 안에 감싸진 타임아웃도 원인 사슬에서 찾음) */
+        static Signal of(Throwable failure) {
+            for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+                if (t instanceof SocketTimeoutException || t instanceof NoRouteToHostException) return CONGESTION;
+            }
+            return FAILURE;
+        }
+    }
+
+    /**
+     * 점검 1건의 관측값 반영 (슬롯을 쥔 채로, 반납 전에 호출)
+     * @param latencyMs 점검 소요 시간(ms)
+     * @param signal    점검 결과 분류 (성공 건의 지연만 기울기 계산에 사용)
+     */
+    void observe(long latencyMs, Signal signal) {
+        lock.lock();
+        try {
+            int before = inFlight;
+            sinceDecrease++;
+            if (signal == Signal.CONGESTION) {
+                decrease();
+            } else if (signal == Signal.SUCCESS) {
+                shortRttMs = Double.isNaN(shortRttMs) ? latencyMs : shortRttMs + SHORT_ALPHA * (latencyMs - shortRttMs);
+                if (Double.isNaN(longRttMs)) longRttMs = latencyMs;
+                else longRttMs += (shortRttMs < longRttMs ? LONG_DOWN_ALPHA : LONG_ALPHA) * (shortRttMs - longRttMs);
+                if (shortRttMs > longRttMs * TOLERANCE) {
+                    decrease();                                   // 지연이 늘어남 → 큐잉 발생
+                } else if (before * 2 >= limit) {
+                    // 상한의 절반 이상을 실제로 쓰고 있을 때만 증가 (유휴 상태에서 상한만 부풀지 않도록)
+                    limit = Math.min(max, limit + 1.0 / limit);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 곱셈 감소 (직전 감소 이후 상한만큼의 점검이 끝나기 전에는 다시 줄이지 않음) */
+    private void decrease() {
+        if (sinceDecrease < (long) limit) return;
+        sinceDecrease = 0;
+        limit = Math.max(min, limit * BACKOFF);
+    }
+
+    /** 현재 동시 점검 상한 */
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 현재 진행 중인 점검 수 */
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.certwatch.pipeline;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 목적지(IP, 서브넷)별 동시 접속 수 제한기입니다.
+ * - 같은 CDN/로드밸런서 IP 로 핸드셰이크가 몰려 WAF 에 차단되지 않도록, IP 와 /24(IPv6 는 /64) 단위로 상한을 둡니다.
+ * - 허가를 기다리며 스레드를 붙잡지 않습니다. 상한에 걸린 요청은 서브넷 → IP 별로 보류했다가,
+ *   허가가 반납될 때 서브넷과 IP 를 번갈아 가며 허가합니다. (한 IP 가 몰려도 다른 목적지는 계속 진행)
+ * - 전체 동시 점검 슬롯(적응형 제한기)이 있으면 목적지 허가와 함께 한 번에 얻습니다.
+ *   둘 중 하나라도 모자라면 아무것도 잡지 않고 보류하므로, 슬롯을 기다리는 동안 같은 IP 의 다른 타깃을 막지 않습니다.
+ */
+class DestinationLimiter {
+
+    /** IP 당 동시 접속 상한 (0 이하면 무제한) */
+    private final int perIp;
+
+    /** 서브넷 당 동시 접속 상한 (0 이하면 무제한) */
+    private final int perSubnet;
+
+    /** 전체 동시 점검 슬롯 (null 이면 목적지 상한만) */
+    private final AdaptiveConcurrencyLimiter slots;
+
+    /** 사용 중인 허가 수 (this 잠금으로 보호, 0 이 되면 항목 제거) */
+    private final Map<String, Integer> ipInUse = new HashMap<>();
+    private final Map<String, Integer> subnetInUse = new HashMap<>();
+
+    /** 보류 중인 요청 : 서브넷 → (IP → 요청 순서), 서브넷과 IP 모두 허가한 순서대로 뒤로 돌림 */
+    private final LinkedHashMap<String, LinkedHashMap<String, Deque<Consumer<ProbePlugin.Permit>>>> parked = new LinkedHashMap<>();
+
+    DestinationLimiter(int perIp, int perSubnet) {
+        this(perIp, perSubnet, null);
+    }
+
+    DestinationLimiter(int perIp, int perSubnet, AdaptiveConcurrencyLimiter slots) {
+        this.perIp = perIp;
+        this.perSubnet = perSubnet;
+        this.slots = slots;
+    }
+
+    /**
+     * 목적지 허가(+ 전체 슬롯)를 요청합니다. (대기하지 않음)
+     * - 바로 허가되면 호출 스레드에서, 아니면 허가가 반납되는 시점에 반납한 스레드에서 onAdmit 호출
+     * - 같은 IP 의 보류 요청이 있으면 그 뒤에 줄을 섬 (순서 유지)
+     */
+    void admit(InetAddress addr, Consumer<ProbePlugin.Permit> onAdmit) {
+        String ip = addr.getHostAddress();
+        String subnet = subnetKey(addr);
+        synchronized (this) {
+            Map<String, Deque<Consumer<ProbePlugin.Permit>>> waiting = parked.get(subnet);
+            boolean queued = waiting != null && waiting.containsKey(ip);
+            if (queued || !tryTake(ip, subnet)) {
+                parked.computeIfAbsent(subnet, k -> new LinkedHashMap<>())
+                        .computeIfAbsent(ip, k -> new ArrayDeque<>())
+                        .add(onAdmit);
+                return;
+            }
+        }
+        onAdmit.accept(new Permit(ip, subnet));
+    }
+
+    /** 보류 중인 요청 수 */
+    synchronized int parkedCount() {
+        int n = 0;
+        for (Map<String, Deque<Consumer<ProbePlugin.Permit>>> waiting : parked.values()) {
+            for (Deque<Consumer<ProbePlugin.Permit>> q : waiting.values()) n += q.size();
+        }
+        return n;
+    }
+
+    /**
+     * 허가 반납 후 보류 요청 중 허가 가능한 것을 허가
+     * - 전체 슬롯이 있으면 슬롯도 반납되므로 모든 서브넷, 아니면 반납한 서브넷만 살펴봄
+     */
+    private void release(String ip, String subnet) {
+        List<Admitted> ready = new ArrayList<>();
+        synchronized (this) {
+            decrement(ipInUse, ip);
+            decrement(subnetInUse, subnet);
+            if (slots != null) slots.release();
+            pump(slots != null ? new ArrayList<>(parked.keySet()) : List.of(subnet), ready);
+        }
+        // 콜백은 잠금 밖에서 (다음 스테이지로 넘기는 작업이 다시 admit/release 할 수 있음)
+        for (Admitted a : ready) a.onAdmit.accept(new Permit(a.ip, a.subnet));
+    }
+
+    /**
+     * 서브넷을 번갈아 가며 (서브넷 안에서는 IP 를 번갈아 가며) 한 건씩 허가, 더 허가할 수 없을 때까지 반복
+     * - 허가한 IP / 서브넷은 맨 뒤로 (라운드 로빈), this 잠금 상태에서 호출
+     */
+    private void pump(List<String> subnets, List<Admitted> ready) {
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (String subnet : subnets) {
+                if (slots != null && !slots.hasRoom()) return;   // 전체 슬롯이 없으면 더 볼 필요 없음
+                LinkedHashMap<String, Deque<Consumer<ProbePlugin.Permit>>> waiting = parked.get(subnet);
+                if (waiting == null) continue;
+                String next = null;
+                for (String candidate : waiting.keySet()) {
+                    if (tryTake(candidate, subnet)) {
+                        next = candidate;
+                        break;
+                    }
+                }
+                if (next == null) continue;                       // 서브넷 상한 또는 모든 IP 가 상한
+                Deque<Consumer<ProbePlugin.Permit>> q = waiting.remove(next);
+                ready.add(new Admitted(q.poll(), next, subnet));
+                if (!q.isEmpty()) waiting.put(next, q);
+                parked.remove(subnet);
+                if (!waiting.isEmpty()) parked.put(subnet, waiting);
+                progress = true;
+            }
+        }
+    }
+
+    /** 상한 안이면 IP/서브넷 허가와 전체 슬롯을 함께 차지 (this 잠금 상태에서 호출) */
+    private boolean tryTake(String ip, String subnet) {
+        if (perIp > 0 && ipInUse.getOrDefault(ip, 0) >= perIp) return false;
+        if (perSubnet > 0 && subnetInUse.getOrDefault(subnet, 0) >= perSubnet) return false;
+        if (slots != null && !slots.tryAcquire()) return false;
+        ipInUse.merge(ip, 1, Integer::sum);
+        subnetInUse.merge(subnet, 1, Integer::sum);
+        return true;
+    }
+
+    private static void decrement(Map<String, Integer> inUse, String key) {
+        inUse.computeIfPresent(key, (k, n) -> n <= 1 ? null : n - 1);
+    }
+
+    /** 서브넷 키 (IPv4 는 /24, IPv6 는 /64) */
+    static String subnetKey(InetAddress addr) {
+        byte[] b = addr.getAddress();
+        int prefixBytes = addr instanceof Inet4Address ? 3 : 8;
+        return Arrays.toString(Arrays.copyOf(b, prefixBytes));
+    }
+
+    /** 보류에서 풀려 허가된 요청 (콜백은 잠금 밖에서 호출) */
+    private record Admitted(Consumer<ProbePlugin.Permit> onAdmit, String ip, String subnet) {
+    }
+
+    /** 획득한 허가 핸들 (목적지 허가 + 전체 슬롯) */
+    private final class Permit implements ProbePlugin.Permit {
+        private final String ip;
+        private final String subnet;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Permit(String ip, String subnet) {
+            this.ip = ip;
+            this.subnet = subnet;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) release(ip, subnet);
+        }
+    }
+}
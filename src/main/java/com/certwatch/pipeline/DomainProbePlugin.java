@@ -0,0 +1,180 @@
+package com.certwatch.pipeline;
+
+import cc.maria.rdap.RDAPClient;
+import cc.maria.rdap.object.DomainObjectClass;
+import cc.maria.rdap.object.Event;
+import cc.maria.rdap.object.ObjectReference;
+import cc.maria.rdap.object.ObjectType;
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.CheckDTO;
+import com.certwatch.jfr.DomainProbeEvent;
+import com.certwatch.jfr.ThreadKind;
+import com.certwatch.service.WhoisService;
+import com.common.service.CommonService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * 도메인 만료 점검 플러그인입니다. (타입 "Domain")
+ * - 등록 도메인 단위로 조회하므로, 같은 등록 도메인의 타깃끼리는 실행당 한 번만 조회하고 결과를 공유합니다.
+ * - 점검 1건은 JFR certwatch.DomainProbe 이벤트로 기록됩니다. (레코딩 중일 때만)
+ */
+@Component("DomainProbePlugin")
+public class DomainProbePlugin implements ProbePlugin {
+
+    public static final String TYPE = "Domain";
+
+    @Autowired
+    private CommonService commonService;
+
+    @Autowired
+    private CertwatchProperties props;
+
+    @Autowired
+    private WhoisService whoisService;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public int workers() {
+        return props.getWorkers();
+    }
+
+    /** 등록 도메인 (sys.ofu.co.kr, ofu.co.kr:8443 → ofu.co.kr) */
+    @Override
+    public String coalesceKey(PipelineTarget target) {
+        return commonService.registrableDomain(target.getName());
+    }
+
+    @Override
+    public CheckDTO probe(PipelineTarget target, int timeoutSeconds) {
+        return checkOne(target.getHost(), target.getPort(), timeoutSeconds);
+    }
+
+    /**
+     * 단일 호스트의 도메인 만료일을 확인합니다.
+     * - 호스트가 아닌 등록 도메인 단위로 조회합니다. (sys.ofu.co.kr → ofu.co.kr)
+     * - RDAP 이 실패하거나 만료 이벤트가 없으면 WHOIS 로 폴백합니다. (.kr 등)
+     */
+    private CheckDTO checkOne(String host, int port, int timeoutSec){
+
+        DomainProbeEvent ev = new DomainProbeEvent();
+        ev.begin();
+        CheckDTO dto = new CheckDTO();
+
+        dto.setHost(host);
+        dto.setPort(port);
+        dto.setType("Domain");
+
+        String domainName = commonService.registrableDomain(dto.getHost());
+        Instant expInstant = null;
+        String rdapError = null;
+
+        // 1) RDAP 조회
+        try{
+
+            long phase = System.nanoTime();
+            RDAPClient client = new RDAPClient();
+            DomainObjectClass domain;
+            try {
+                domain = client.queryDomain(
+                        new ObjectReference(domainName, ObjectType.DOMAIN)
+                );
+            } finally {
+                ev.rdap = System.nanoTime() - phase;
+            }
+            phase = System.nanoTime();
+
+            Optional<Event> expiration = domain.getEvents() == null ? Optional.empty() : Arrays.stream(domain.getEvents())
+                    .filter(e -> "expiration".equalsIgnoreCase(e.getEventAction()))
+                    .findFirst();
+
+            if (expiration.isEmpty()) {
+                rdapError = "⚠️ 만료일 이벤트를 찾을 수 없습니다.";
+            } else {
+                String raw = expiration.get().getEventDate();
+                expInstant = tryParseRdapDate(raw);
+                if (expInstant == null) rdapError = "❌ 날짜 파싱 실패";
+            }
+            ev.parse = System.nanoTime() - phase;
+        }catch (Exception e){
+            rdapError = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        if (expInstant != null) ev.source = "RDAP";
+
+        // 2) WHOIS 폴백 (캐시/서버별 제한은 WhoisService 가 담당)
+        String whoisError = null;
+        if (expInstant == null && whoisService.isEnabled()) {
+            long phase = System.nanoTime();
+            try {
+                expInstant = whoisService.lookupExpiration(domainName);
+                ev.source = "WHOIS";
+            } catch (IOException e) {
+                whoisError = e.getMessage();
+            } finally {
+                ev.whois = System.nanoTime() - phase;
+            }
+        }
+
+        // 3) 결과 채우기
+        if (expInstant != null) {
+
+            dto.setNotAfter(expInstant);
+
+            ZonedDateTime expKST = expInstant.atZone(ZoneId.of("Asia/Seoul"));
+            ZonedDateTime nowKST = ZonedDateTime.now(ZoneId.of("Asia/Seoul"));
+            long daysLeft = Duration.between(nowKST, expKST).toDays();
+
+            dto.setDaysLeft(daysLeft);
+            dto.setOk(true);
+        } else {
+            dto.setOk(false);
+            dto.setError(whoisError == null ? rdapError : "RDAP: " + rdapError + " / WHOIS: " + whoisError);
+        }
+        dto.setCheckedAt(Instant.now());
+
+        // JFR 이벤트 기록 (레코딩 중이 아니면 아무것도 하지 않음)
+        ev.end();
+        if (ev.shouldCommit()) {
+            ev.host = host;
+            ev.domain = domainName;
+            ev.ok = dto.ok;
+            ev.error = dto.error;
+            ev.virtualThread = ThreadKind.isVirtual();
+            ev.commit();
+        }
+        return dto;
+    }
+
+    private static Instant tryParseRdapDate(String s) {
+        Instant result = null;
+        String[] patterns = {
+                "yyyy-MM-dd'T'HH:mm:ss'Z'",
+                "yyyy-MM-dd'T'HH:mm:ssXXX",
+                "yyyy-MM-dd"
+        };
+        for (String p : patterns) {
+            try {
+                if (p.contains("XXX")) {
+
+                    return OffsetDateTime.parse(s, DateTimeFormatter.ofPattern(p)).toInstant();
+                } else if (p.endsWith("'Z'")) {
+                    return Instant.from(DateTimeFormatter.ofPattern(p).withZone(ZoneOffset.UTC).parse(s));
+                } else {
+                    return LocalDate.parse(s, DateTimeFormatter.ofPattern(p)).atStartOfDay(ZoneOffset.UTC).toInstant();
+                }
+            } catch (Exception ignored) {
+
+            }
+        }
+        return result;
+    }
+}
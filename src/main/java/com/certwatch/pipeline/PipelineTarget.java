@@ -0,0 +1,106 @@
+package com.certwatch.pipeline;
+
+import com.certwatch.entity.CheckDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 파이프라인을 흐르는 정규화된 타깃 1건입니다.
+ * - 대소문자/끝 점만 다른 표기는 하나로 합치고, 결과는 원래 표기마다 돌려줍니다.
+ * - DNS 는 실행당 호스트별 한 번만 해석해 모든 점검 타입이 공유합니다.
+ */
+@Getter
+public class PipelineTarget {
+
+    /** 처음 등장한 표기의 호스트명 */
+    private final String host;
+
+    /** 포트 */
+    private final int port;
+
+    /** 정규화한 호스트명 (소문자, 끝 점 제거 / SNI 이름) */
+    private final String name;
+
+    /** 이 타깃으로 합쳐진 원래 표기들 (결과를 표기마다 복사해 전달) */
+    private final List<String> spellings = new ArrayList<>(1);
+
+    /** 창 안에서의 시작 시점(ms, 창이 있을 때만) */
+    @Setter
+    private long offsetMillis;
+
+    /** 해석된 목적지 (해석 전/실패 시 null) */
+    @Setter
+    private volatile InetAddress address;
+
+    /** DNS 해석 소요 시간(ns, 같은 호스트의 타깃끼리 공유) */
+    @Setter
+    private volatile long resolveNanos;
+
+    /** DNS 해석 실패 사유 */
+    @Setter
+    private volatile String resolveError;
+
+    /** 목적지 허가를 요청한 뒤 허가될 때까지 보류된 시간(ns) */
+    @Setter
+    private volatile long admitWaitNanos;
+
+    public PipelineTarget(String host, int port) {
+        this.host = host;
+        this.port = port;
+        this.name = normalize(host);
+    }
+
+    /** 정규화 키 ("name:port") */
+    public String key() {
+        return key(name, port);
+    }
+
+    public static String key(String name, int port) {
+        return name + ":" + port;
+    }
+
+    /** 호스트 정규화 (소문자, 끝의 점 제거) */
+    public static String normalize(String host) {
+        String h = host.toLowerCase(Locale.ROOT);
+        return h.endsWith(".") ? h.substring(0, h.length() - 1) : h;
+    }
+
+    /** 이 타깃의 즉시 실패 결과 */
+    public CheckDTO failure(String type, String error) {
+        return failed(type, host, port, error);
+    }
+
+    /** 즉시 실패 결과 생성 */
+    public static CheckDTO failed(String type, String host, int port, String error) {
+        CheckDTO r = new CheckDTO();
+        r.type = type;
+        r.host = host;
+        r.port = port;
+        r.ok = false;
+        r.error = error;
+        r.checkedAt = Instant.now();
+        return r;
+    }
+
+    /** 공유된 점검 결과를 타깃별 결과로 복사 (원래 표기한 호스트명 유지) */
+    public static CheckDTO copyFor(CheckDTO src, String host, int port) {
+        if (host.equals(src.host) && port == src.port) return src;
+        CheckDTO r = new CheckDTO();
+        r.type = src.type;
+        r.host = host;
+        r.port = port;
+        r.ok = src.ok;
+        r.error = src.error;
+        r.notAfter = src.notAfter;
+        r.daysLeft = src.daysLeft;
+        r.elapsedMs = src.elapsedMs;
+        r.checkedAt = src.checkedAt;
+        return r;
+    }
+}
@@ -0,0 +1,58 @@
+package com.certwatch.pipeline;
+
+import com.certwatch.entity.CheckDTO;
+
+import java.util.function.Consumer;
+
+/**
+ * 점검 파이프라인의 점검(probe) 스테이지 플러그인입니다.
+ * - 스프링 빈으로 등록하면 파이프라인이 타입별 점검 스테이지로 붙입니다. (새 점검 타입 추가 = 플러그인 1개 추가)
+ * - 타깃 로드/정규화/DNS 해석/집계/알림은 파이프라인이 공통으로 담당하고, 플러그인은 타깃 1건의 점검만 합니다.
+ */
+public interface ProbePlugin {
+
+    /** 점검 타입 (CheckDTO.type, 결과 보관소/집계 키) */
+    String type();
+
+    /** 점검 스레드 수 (파이프라인이 타입별로 이 크기의 고정 풀을 한 번 만들어 모든 실행이 공유) */
+    int workers();
+
+    /** DNS 해석 결과(PipelineTarget.getAddress)가 필요한지 (해석 실패 타깃은 점검 없이 실패 결과로 처리) */
+    default boolean needsAddress() {
+        return false;
+    }
+
+    /**
+     * 같은 키의 타깃은 실행당 한 번만 점검하고 결과를 공유합니다.
+     * - 기본은 정규화 키 (호스트명 소문자/끝 점 제거 + 포트), null 이면 공유하지 않음
+     */
+    default String coalesceKey(PipelineTarget target) {
+        return target.key();
+    }
+
+    /**
+     * 점검 전에 목적지 허가를 요청합니다. (대기하지 않음)
+     * - 허가가 나면 바로, 또는 다른 점검이 허가를 반납하는 시점에 (그 스레드에서) admitted 로 허가 핸들을 넘깁니다.
+     * - 파이프라인은 허가가 난 타깃만 점검 스레드에 넘기고, 점검이 끝나면 핸들을 close 합니다.
+     * - 기본은 제한 없음 (바로 허가)
+     */
+    default void admit(PipelineTarget target, Consumer<Permit> admitted) {
+        admitted.accept(Permit.NONE);
+    }
+
+    /**
+     * 타깃 1건 점검 (여러 점검 스레드에서 동시에 호출됨)
+     * - 점검 실패도 예외 대신 ok=false 결과로 반환합니다.
+     */
+    CheckDTO probe(PipelineTarget target, int timeoutSeconds);
+
+    /** 목적지 허가 핸들 (close 시 반납, 여러 번 호출해도 한 번만 반납) */
+    interface Permit extends AutoCloseable {
+
+        /** 제한 없음 */
+        Permit NONE = () -> {};
+
+        @Override
+        void close();
+    }
+}
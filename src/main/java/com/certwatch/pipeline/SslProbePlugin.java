@@ -0,0 +1,214 @@
+package com.certwatch.pipeline;
+
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.CheckDTO;
+import com.certwatch.jfr.SslProbeEvent;
+import com.certwatch.jfr.ThreadKind;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.SecureRandom;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Consumer;
+
+/**
+ * TLS 인증서 만료 점검 플러그인입니다. (타입 "SSL")
+ * - 파이프라인이 해석해 둔 IP 로 연결하고 SNI 로 호스트명을 보냅니다.
+ * - IP / 서브넷별 동시 접속 수를 제한하고(허가가 날 때까지 스레드 없이 보류), 전체 동시 점검 수는 관측된 지연/오류로 적응형 조절합니다.
+ *   목적지 허가와 전체 슬롯은 admit 에서 함께 얻으므로, 점검 스레드는 허가를 쥔 채 대기하지 않습니다.
+ * - 점검 1건은 JFR certwatch.SslProbe 이벤트로 기록됩니다. (레코딩 중일 때만)
+ */
+@Component("SslProbePlugin")
+public class SslProbePlugin implements ProbePlugin {
+
+    public static final String TYPE = "SSL";
+
+    /** 구성 속성 주입 (application.properties 바인딩된 값) */
+    @Autowired
+    private CertwatchProperties props;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** 목적지(IP, 서브넷)별 동시 접속 제한 (여러 실행이 겹쳐도 공유) */
+    private DestinationLimiter destinationLimiter;
+
+    /** 전체 동시 점검 수 적응형 제한 (비활성 시 null, 여러 실행이 겹쳐도 공유) */
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @PostConstruct
+    public void init() {
+        if (props.getConcurrency().isAdaptive()) {
+            concurrencyLimiter = new AdaptiveConcurrencyLimiter(props.getWorkers(),
+                    props.getConcurrency().getMin(), props.getConcurrency().getMax());
+            // 현재 상한/진행 수를 메트릭으로 노출 (/actuator/metrics/certwatch.check.concurrency.limit)
+            Gauge.builder("certwatch.check.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("SSL 점검 동시 실행 상한 (적응형)")
+                    .register(meterRegistry);
+            Gauge.builder("certwatch.check.concurrency.inflight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("진행 중인 SSL 점검 수")
+                    .register(meterRegistry);
+        }
+
+        // 목적지 허가와 전체 슬롯은 함께 얻음 (하나를 쥔 채 다른 하나를 기다리지 않도록)
+        destinationLimiter = new DestinationLimiter(
+                props.getDestination().getPerIp(), props.getDestination().getPerSubnet(), concurrencyLimiter);
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    /** 적응형이면 상한까지 스레드를 두고 실제 동시 수는 제한기가 조절 */
+    @Override
+    public int workers() {
+        return concurrencyLimiter != null ? props.getConcurrency().getMax() : props.getWorkers();
+    }
+
+    @Override
+    public boolean needsAddress() {
+        return true;
+    }
+
+    /** 해석된 IP 의 목적지 허가 + 전체 슬롯 (상한이면 같은 IP/서브넷 또는 다른 점검이 끝날 때까지 보류) */
+    @Override
+    public void admit(PipelineTarget target, Consumer<Permit> admitted) {
+        long start = System.nanoTime();
+        destinationLimiter.admit(target.getAddress(), permit -> {
+            target.setAdmitWaitNanos(System.nanoTime() - start);
+            admitted.accept(permit);
+        });
+    }
+
+    /** 목적지 허가와 전체 슬롯은 admit 에서 받은 상태로 호출됨 */
+    @Override
+    public CheckDTO probe(PipelineTarget target, int timeoutSeconds) {
+        SslProbeEvent ev = new SslProbeEvent();
+        ev.begin();
+        ev.permitWait = target.getAdmitWaitNanos();
+        CheckDTO r = observedCheckOne(target, timeoutSeconds, ev);
+        commitProbeEvent(ev, target, r);
+        return r;
+    }
+
+    /** 점검 1건의 JFR 이벤트 기록 (레코딩 중이 아니면 아무것도 하지 않음) */
+    private static void commitProbeEvent(SslProbeEvent ev, PipelineTarget target, CheckDTO r) {
+        ev.end();
+        if (!ev.shouldCommit()) return;
+        ev.host = target.getHost();
+        ev.port = target.getPort();
+        ev.address = target.getAddress().getHostAddress();
+        ev.resolve = target.getResolveNanos();
+        ev.ok = r.ok;
+        ev.error = r.error;
+        ev.virtualThread = ThreadKind.isVirtual();
+        ev.commit();
+    }
+
+    /** 점검하고 지연/오류를 적응형 제한기에 되먹임 (슬롯 반납은 허가 핸들을 닫을 때) */
+    private CheckDTO observedCheckOne(PipelineTarget target, int timeoutSeconds, SslProbeEvent ev) {
+        AdaptiveConcurrencyLimiter.Signal[] signal = {AdaptiveConcurrencyLimiter.Signal.FAILURE};
+        CheckDTO r = null;
+        try {
+            r = checkOne(target.getHost(), target.getPort(), target.getAddress(), timeoutSeconds, ev, signal);
+            return r;
+        } finally {
+            if (concurrencyLimiter != null) concurrencyLimiter.observe(r == null ? 0 : r.elapsedMs, signal[0]);
+        }
+    }
+
+    /**
+     * 단일 호스트의 인증서 만료 정보를 확인합니다.
+     * - TLS 연결을 맺되, 신뢰 검증은 끄고(not verifying) "만료일"만 읽습니다.
+     * - SNI(Server Name Indication)를 설정하여 가상호스팅에서도 올바른 인증서를 받습니다.
+     * - 연결/핸드셰이크 단계별 소요 시간은 ev 에 채웁니다. (커밋은 호출자가)
+     * - 결과 분류(성공/실패/혼잡)는 잡힌 예외 타입으로 정해 signal[0] 에 채웁니다. (적응형 제한기 되먹임용)
+     */
+    private static CheckDTO checkOne(String host, int port, InetAddress addr, int timeoutSec, SslProbeEvent ev,
+                                     AdaptiveConcurrencyLimiter.Signal[] signal) {
+        long start = System.nanoTime();                            // 성능 측정 시작
+        CheckDTO r = new CheckDTO();                         // 결과 객체 생성
+        r.type = "SSL";                                            // 점검 타입
+        r.host = host;                                             // 호스트 세팅
+        r.port = port;                                             // 포트 세팅
+        try {
+            // 1) TLS 컨텍스트 생성
+            SSLContext ctx = SSLContext.getInstance("TLS");
+
+            // 2) 모든 서버 인증서를 "신뢰"하도록 커스텀 TrustManager 구성
+            //    (만료/자체서명/호스트명 불일치라도 만료일 읽기를 위해)
+            ctx.init(null, new TrustManager[]{ new X509TrustManager() {
+                public void checkClientTrusted(X509Certificate[] xcs, String s) {}
+                public void checkServerTrusted(X509Certificate[] xcs, String s) {}
+                public X509Certificate[] getAcceptedIssuers() { return new X509Certificate[0]; }
+            }}, new SecureRandom());
+
+            // 3) SSL 소켓 팩토리에서 소켓 생성
+            SSLSocketFactory factory = ctx.getSocketFactory();
+            try (SSLSocket socket = (SSLSocket) factory.createSocket()) {
+
+                // 4) 타임아웃/연결 설정
+                socket.setSoTimeout(timeoutSec * 1000);            // 읽기 타임아웃(밀리초)
+                long phase = System.nanoTime();
+                socket.connect(new InetSocketAddress(addr, port), timeoutSec * 1000); // 해석해 둔 IP 로 연결
+                ev.connect = System.nanoTime() - phase;
+
+                // 5) SNI(Server Name Indication) 설정 (IP 로 연결하므로 호스트명을 명시)
+                SSLParameters params = socket.getSSLParameters();
+                try {
+                    params.setServerNames(java.util.List.of(new SNIHostName(PipelineTarget.normalize(host))));
+                } catch (IllegalArgumentException ignore) {
+                    // IP 주소 등 SNI 불가 케이스는 무시
+                }
+                socket.setSSLParameters(params);
+
+                // 6) TLS 핸드셰이크 수행 (서버 인증서 체인을 수신)
+                phase = System.nanoTime();
+                try {
+                    socket.startHandshake();
+                } finally {
+                    ev.handshake = System.nanoTime() - phase;
+                }
+
+                // 7) 세션에서 인증서 체인을 얻음
+                SSLSession sess = socket.getSession();
+                Certificate[] chain = sess.getPeerCertificates();
+                if (chain.length == 0 || !(chain[0] instanceof X509Certificate)) {
+                    throw new RuntimeException("서버 인증서 체인을 읽을 수 없습니다.");
+                }
+
+                // 8) 리프 인증서의 만료일 추출
+                X509Certificate leaf = (X509Certificate) chain[0];
+                Instant exp = leaf.getNotAfter().toInstant();          // java.util.Date -> Instant
+                long days = ChronoUnit.DAYS.between(Instant.now(), exp); // 남은 일수 계산
+
+                // 9) 결과 채우기
+                r.ok = true;
+                r.notAfter = exp;
+                r.daysLeft = days;
+                signal[0] = AdaptiveConcurrencyLimiter.Signal.SUCCESS;
+            }
+        } catch (Exception e) {
+            // 예외(연결 실패, 타임아웃, 핸드셰이크 오류 등) 시 실패로 기록
+            r.ok = false;
+            r.error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            signal[0] = AdaptiveConcurrencyLimiter.Signal.of(e);
+        } finally {
+            // 10) 경과 시간 기록 (ns -> ms)
+            r.elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            r.checkedAt = Instant.now();                           // 점검 시각
+        }
+        return r;                                                  // 결과 반환
+    }
+
+}
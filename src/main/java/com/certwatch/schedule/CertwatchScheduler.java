@@ -1,26 +1,78 @@
 package com.certwatch.schedule;
 
 import com.certwatch.config.CertwatchProperties;
-import com.certwatch.service.CertCheckerService;
+import com.certwatch.pipeline.DomainProbePlugin;
+import com.certwatch.pipeline.SslProbePlugin;
+import com.certwatch.service.CheckPipelineService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 스케줄러 구성 클래스입니다.
- * - @Scheduled(cron = "...") 로 주기 실행
+ * - @Scheduled(cron = "...") 로 주기 실행하며, SSL 인증서 / 도메인 만료 점검을 한 사이클로 함께 실행합니다. (타깃 로드/DNS 해석 공유)
+ * - 각 실행의 점검 시작은 certwatch.scheduling.window-minutes 창 전체에 고르게 펼쳐집니다. (타깃별 결정적 지터 + 토큰 버킷)
+ *   창은 점검 "시작"의 상한이라, 실행 전체는 마지막 점검의 타임아웃만큼 창을 넘길 수 있습니다. (넘기면 경고 로그)
  * - 실제 실행 여부는 properties(certwatch.scheduling.enabled) 플래그로 제어합니다.
  */
 @Configuration
 public class CertwatchScheduler {
 
+    private static final Logger log = LoggerFactory.getLogger(CertwatchScheduler.class);
+
     /** 서비스/설정 주입 */
-    private final CertCheckerService service;
+    private final CheckPipelineService pipeline;
     private final CertwatchProperties props;
 
+    /** 사이클 실행 스레드 (창 동안 스케줄러 스레드를 붙잡지 않도록 별도) */
+    private final ExecutorService runner;
+
+    /** 사이클 실행 중 여부 (창이 cron 주기보다 길어 겹치면 이번 회차는 건너뜀) */
+    private final AtomicBoolean running = new AtomicBoolean();
+
     /** 생성자 주입 */
-    public CertwatchScheduler(CertCheckerService service, CertwatchProperties props) {
-        this.service = service;
+    public CertwatchScheduler(CheckPipelineService pipeline, CertwatchProperties props) {
+        this.pipeline = pipeline;
         this.props = props;
+        AtomicInteger seq = new AtomicInteger();
+        this.runner = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "certwatch-run-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** 창이 cron 주기보다 길면 매번 다음 회차가 건너뛰어지므로 기동 시 경고 */
+    @PostConstruct
+    public void checkWindow() {
+        CertwatchProperties.Scheduling cfg = props.getScheduling();
+        if (!cfg.isEnabled() || cfg.getWindowMinutes() <= 0) return;
+        try {
+            CronExpression cron = CronExpression.parse(cfg.getCron());
+            LocalDateTime next = cron.next(LocalDateTime.now());
+            LocalDateTime after = next == null ? null : cron.next(next);
+            if (after == null) return;
+            Duration period = Duration.between(next, after);
+            if (Duration.ofMinutes(cfg.getWindowMinutes()).compareTo(period) >= 0) {
+                log.warn("점검 창({}분)이 cron 주기({}분) 이상이라 실행이 겹치는 회차는 건너뜁니다. window-minutes 를 줄이세요.",
+                        cfg.getWindowMinutes(), period.toMinutes());
+            }
+        } catch (IllegalArgumentException e) {
+            // 잘못된 cron 식은 @Scheduled 등록 시점에 오류로 보고됨
+        }
     }
 
     /**
@@ -29,10 +81,44 @@ public class CertwatchScheduler {
      */
     @Scheduled(cron = "${certwatch.scheduling.cron}")
     public void scheduledCheck() {
+        CertwatchProperties.Scheduling cfg = props.getScheduling();
+
         // 스케줄 토글이 꺼져 있으면 아무 것도 하지 않음
-//        if (!props.isSchedulingEnabled()) return;
+        if (!cfg.isEnabled()) return;
+
+        List<String> types = new ArrayList<>();
+        if (cfg.isSsl()) types.add(SslProbePlugin.TYPE);
+        if (cfg.isDomain()) types.add(DomainProbePlugin.TYPE);
+        if (types.isEmpty()) return;
+
+        // 이전 회차가 아직 돌고 있으면 건너뜀
+        if (!running.compareAndSet(false, true)) {
+            log.warn("{} 이전 점검이 아직 진행 중이라 이번 회차는 건너뜁니다.", types);
+            return;
+        }
+
+        // 점검 + (조건부) 알림 전송 : 선택한 점검 타입을 한 사이클로 창 전체에 펼쳐 실행
+        Duration window = Duration.ofMinutes(Math.max(0, cfg.getWindowMinutes()));
+        runner.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                pipeline.runCycle(types, window);
+                Duration took = Duration.ofNanos(System.nanoTime() - start);
+                log.info("{} 정기 점검 완료 ({} s)", types, took.toSeconds());
+                if (!window.isZero() && took.compareTo(window) > 0) {
+                    log.warn("{} 정기 점검이 창({}분)보다 {} s 더 걸렸습니다. (점검 타임아웃/워커 수 확인)",
+                            types, window.toMinutes(), took.minus(window).toSeconds());
+                }
+            } catch (RuntimeException e) {
+                log.warn("{} 정기 점검 실패: {}", types, e.toString());
+            } finally {
+                running.set(false);
+            }
+        });
+    }
 
-        // 점검 + (조건부) 텔레그램 전송
-        service.checkAllAndMaybeNotify();
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
     }
 }
@@ -2,6 +2,7 @@ package com.certwatch.service;
 
 import com.certwatch.entity.CheckDTO;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -10,5 +11,17 @@ import java.util.List;
  */
 public interface CertCheckerService {
 
-    List<CheckDTO>  checkAllAndMaybeNotify();
+    /** 모든 타깃을 즉시 점검하고 (조건부) 알림을 보냅니다. */
+    default List<CheckDTO> checkAllAndMaybeNotify() {
+        return checkAllAndMaybeNotify(Duration.ZERO);
+    }
+
+    /**
+     * 모든 타깃을 점검하고 (조건부) 알림을 보냅니다.
+     * @param window 점검 시작을 고르게 펼칠 시간 창 (타깃별 결정적 지터 + 토큰 버킷, 0 이면 즉시 전부)
+     */
+    List<CheckDTO> checkAllAndMaybeNotify(Duration window);
+
+    /** 주어진 타깃만 점검하여 결과 저장소에 반영합니다. (알림 없음, 재기동 후 점진적 재점검용) */
+    List<CheckDTO> checkTargets(List<String> targets);
 }
@@ -0,0 +1,31 @@
+package com.certwatch.service;
+
+import com.certwatch.aggregate.AggregateResult;
+import com.certwatch.entity.CheckDTO;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 점검 파이프라인 서비스 계층입니다.
+ * - 타깃 소스 → 정규화 → DNS 해석 → 점검(타입별 플러그인) → 집계 → 알림 스테이지가 유한 큐로 이어져 동시에 진행됩니다.
+ * - 한 사이클에서 타깃은 한 번만 로드/해석되어 모든 점검 타입이 공유합니다.
+ */
+public interface CheckPipelineService {
+
+    /** 등록된 점검 타입 목록 (플러그인 순서) */
+    List<String> types();
+
+    /**
+     * 활성 타깃 전체를 주어진 점검 타입들로 한 번에 점검하고, 타입별로 집계·보관·(조건부) 알림까지 수행합니다.
+     * @param types  점검 타입 (SSL, Domain ...)
+     * @param window 점검 시작을 고르게 펼칠 시간 창 (타깃별 결정적 지터 + 토큰 버킷, 0 이면 즉시 전부)
+     * @return 타입별 집계 결과 (상위 결과는 getTop)
+     */
+    Map<String, AggregateResult> runCycle(Collection<String> types, Duration window);
+
+    /** 주어진 타깃만 한 타입으로 점검하여 결과 저장소에 반영합니다. (알림 없음, 재기동 후 점진적 재점검용) */
+    List<CheckDTO> checkTargets(String type, List<String> targets);
+}
@@ -0,0 +1,45 @@
+package com.certwatch.service;
+
+import com.certwatch.aggregate.AggregateResult;
+import com.certwatch.entity.CheckDTO;
+import com.certwatch.entity.SnapshotDTO;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 타깃별 최근 점검 결과를 보관하는 서비스 계층입니다.
+ * - 점검 실행 없이도 API 조회/알림 판단에 쓸 수 있도록 마지막 결과를 유지합니다.
+ * - 전체 결과는 마지막 집계(메모리 예산 이하면 메모리, 넘으면 정렬 스필 파일) + 색인으로만 보관하고 스트리밍으로 제공합니다.
+ * - 재기동 시에는 스냅샷에서 지연(lazy) 복원합니다.
+ */
+public interface ResultStoreService {
+
+    /** 전체 실행 집계로 해당 타입의 기존 결과를 통째로 교체하고 마지막 실행 시각을 갱신합니다. */
+    void commitRun(String type, AggregateResult aggregate);
+
+    /** 일부 타깃의 결과만 갱신합니다. (재기동 후 점진적 재점검 등) */
+    void recordPartial(String type, List<CheckDTO> results);
+
+    /** 타입별 최근 결과를 정렬 순서대로 하나씩 전달 (만료 임박 순, 실패는 마지막) */
+    void forEachLatest(String type, Consumer<CheckDTO> sink) throws IOException;
+
+    /** 타입별 최근 결과 건수 */
+    long count(String type);
+
+    /** 단일 타깃의 최근 결과 (없으면 null) */
+    CheckDTO find(String type, String host, int port);
+
+    /** 타입별 마지막 전체 실행 시각 */
+    Map<String, Instant> lastRuns();
+
+    /** 스냅샷 저장용으로 전체 타입의 결과를 하나씩 전달 */
+    void exportAll(Consumer<CheckDTO> sink) throws IOException;
+
+    /** 최초 접근 시 호출할 스냅샷 복원 소스를 등록합니다. */
+    void setRestoreSource(Supplier<SnapshotDTO> source);
+}
@@ -0,0 +1,12 @@
+package com.certwatch.service;
+
+/**
+ * 최근 결과/타깃/스케줄 상태를 로컬 파일로 스냅샷하는 서비스 계층입니다.
+ * - 주기적으로, 그리고 종료 시 저장합니다.
+ * - 기동 시에는 파일을 메모리 매핑만 해 두고, 실제 디코딩은 첫 조회 시점에 합니다.
+ */
+public interface SnapshotService {
+
+    /** 현재 상태를 스냅샷 파일로 저장합니다. (임시 파일에 쓴 뒤 교체) */
+    void save();
+}
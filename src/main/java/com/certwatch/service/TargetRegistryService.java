@@ -0,0 +1,34 @@
+package com.certwatch.service;
+
+import com.certwatch.entity.SnapshotDTO;
+import com.certwatch.entity.TargetImportResultDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 점검 대상(활성 타깃 셋)을 관리하는 서비스 계층입니다.
+ * - 설정(certwatch.targets / certwatch.targets-file) 타깃과 API 로 임포트된 타깃을 합쳐 제공합니다.
+ */
+public interface TargetRegistryService {
+
+    /** 현재 활성 타깃 목록 ("host:port", 중복 제거) */
+    List<String> getTargets();
+
+    /** API 로 임포트된 타깃 목록 (스냅샷 저장용) */
+    List<String> getImportedTargets();
+
+    /** 최초 접근 시 호출할 스냅샷 복원 소스를 등록합니다. */
+    void setRestoreSource(Supplier<SnapshotDTO> source);
+
+    /**
+     * NDJSON/CSV 스트림을 한 줄씩 읽어 임포트 타깃 셋에 원자적으로 반영합니다.
+     * @param reader  요청 바디 (전체를 버퍼링하지 않고 라인 단위로 소비)
+     * @param format  "ndjson" 또는 "csv"
+     * @param replace true 면 기존 임포트 타깃을 교체, false 면 upsert
+     * @param strict  true 면 오류 라인이 하나라도 있을 때 아무것도 반영하지 않음
+     */
+    TargetImportResultDTO importTargets(Reader reader, String format, boolean replace, boolean strict) throws IOException;
+}
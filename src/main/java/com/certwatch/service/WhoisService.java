@@ -0,0 +1,22 @@
+package com.certwatch.service;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * WHOIS(43번 포트) 로 도메인 만료일을 조회하는 서비스 계층입니다.
+ * - RDAP 을 제공하지 않거나 만료 이벤트가 없는 레지스트리(.kr 등)의 폴백 용도
+ * - 서버별 동시 연결 수/요청 간격을 제한하고, 결과를 오래 캐시합니다.
+ */
+public interface WhoisService {
+
+    /** 폴백 사용 여부 (certwatch.whois.enabled) */
+    boolean isEnabled();
+
+    /**
+     * 등록 도메인의 만료 시각을 조회합니다. (캐시 우선, 같은 도메인의 동시 조회는 하나로 합침)
+     * @param domain 등록 도메인 (예: ofu.co.kr)
+     * @throws IOException 연결 실패, 미등록 도메인, 만료일 파싱 실패 등
+     */
+    Instant lookupExpiration(String domain) throws IOException;
+}
@@ -0,0 +1,631 @@
+package com.certwatch.service.impl;
+
+import com.certwatch.aggregate.AggregateResult;
+import com.certwatch.aggregate.ResultAggregator;
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.CheckDTO;
+import com.certwatch.jfr.CheckRunEvent;
+import com.certwatch.jfr.ThreadKind;
+import com.certwatch.pipeline.PipelineTarget;
+import com.certwatch.pipeline.ProbePlugin;
+import com.certwatch.service.CheckPipelineService;
+import com.certwatch.service.ResultStoreService;
+import com.certwatch.service.TargetRegistryService;
+import com.common.notify.Notification;
+import com.common.service.CommonService;
+import com.common.service.NotificationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 점검 파이프라인 구현입니다.
+ * - 소스/정규화 → DNS 해석 → 점검(타입별 플러그인) → 집계 스테이지가 유한 큐로 이어져 동시에 진행되고,
+ *   집계가 끝나면 알림 스테이지(NotificationService 비동기 큐)로 넘깁니다.
+ * - 점검 타입은 ProbePlugin 빈으로 등록된 만큼 늘어납니다.
+ * - 점검 스레드는 타입별 고정 크기 풀(plugin.workers)을 여러 실행이 공유하고, 스테이지 스레드는 실행마다 필요한 수만큼만 둡니다.
+ */
+@Service("CheckPipelineService")
+public class CheckPipelineServiceImpl implements CheckPipelineService {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckPipelineServiceImpl.class);
+
+    /** 집계 스테이지 입력 끝 표시 */
+    private static final CheckDTO END = new CheckDTO();
+
+    /** 구성 속성 주입 (application.properties 바인딩된 값) */
+    @Autowired
+    private CertwatchProperties props;
+
+    @Autowired
+    private CommonService commonService;
+
+    @Autowired
+    private TargetRegistryService targetRegistry;
+
+    @Autowired
+    private ResultStoreService resultStore;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    /** 등록된 점검 플러그인 전체 */
+    @Autowired
+    private List<ProbePlugin> plugins;
+
+    /** 타입별 플러그인 */
+    private final Map<String, ProbePlugin> byType = new LinkedHashMap<>();
+
+    /** 타입별 점검 스레드 풀 (고정 크기, 여러 실행이 공유) */
+    private final Map<String, ExecutorService> probePools = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (ProbePlugin p : plugins) {
+            if (byType.putIfAbsent(p.type(), p) != null) {
+                throw new IllegalStateException("점검 타입이 중복 등록되었습니다: " + p.type());
+            }
+            probePools.put(p.type(), Executors.newFixedThreadPool(Math.max(1, p.workers()),
+                    daemonThreads("certwatch-" + p.type().toLowerCase(Locale.ROOT) + "-probe-")));
+        }
+        log.info("점검 플러그인: {}", byType.keySet());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService pool : probePools.values()) pool.shutdownNow();
+    }
+
+    @Override
+    public List<String> types() {
+        return new ArrayList<>(byType.keySet());
+    }
+
+    @Override
+    public Map<String, AggregateResult> runCycle(Collection<String> types, Duration window) {
+        List<ProbePlugin> selected = select(types);
+
+        // 1) 타깃 목록을 로드 (사이클당 한 번, 모든 점검 타입이 공유)
+        List<String> targets = targetRegistry.getTargets();
+
+        // 2) 타입별 집계기 (완료 순서대로 결과 전달)
+        Map<String, ResultAggregator> aggregators = new LinkedHashMap<>();
+        Map<String, Consumer<CheckDTO>> sinks = new HashMap<>();
+        for (ProbePlugin p : selected) {
+            ResultAggregator aggregator = ResultAggregator.of(p.type(), props);
+            aggregators.put(p.type(), aggregator);
+            sinks.put(p.type(), aggregator::accept);
+        }
+
+        Map<String, AggregateResult> out = new LinkedHashMap<>();
+        AggregateResult uncommitted = null;
+        try {
+            // 3) 파이프라인 실행 (모든 결과가 집계기에 들어간 뒤 반환)
+            execute(targets, selected, Integer.MAX_VALUE, window, sinks);
+
+            // 4) 타입별 집계 마무리 (성공 건은 daysLeft 오름차순, 실패 건은 마지막에 / 예산 초과분은 디스크에서 병합)
+            for (Map.Entry<String, ResultAggregator> e : aggregators.entrySet()) {
+                AggregateResult agg = uncommitted = e.getValue().finish();
+
+                // 최근 결과 보관 (재기동 후 웜 스타트/조회용, 집계의 정렬 결과를 그대로 기준 결과로 사용)
+                resultStore.commitRun(e.getKey(), agg);
+                uncommitted = null;
+
+                // 5) 알림 발송 예약
+                notifyAlerts(agg);
+                out.put(e.getKey(), agg);
+            }
+        } finally {
+            // 도중에 실패하면 보관소에 넘기지 못한 집계와 아직 마치지 않은 집계의 스필 파일을 모두 정리
+            if (uncommitted != null) uncommitted.discard();
+            for (ResultAggregator aggregator : aggregators.values()) aggregator.discard();
+        }
+        return out;
+    }
+
+    @Override
+    public List<CheckDTO> checkTargets(String type, List<String> targets) {
+        List<ProbePlugin> selected = select(List.of(type));
+        List<CheckDTO> results = new ArrayList<>();
+        // 소량 배치이므로 타깃 수보다 많은 해석 스레드는 만들지 않음 (점검은 타입별 공유 풀)
+        int workerCap = Math.max(1, targets == null ? 0 : targets.size());
+        execute(targets, selected, workerCap, Duration.ZERO, Map.of(selected.get(0).type(), results::add));
+        resultStore.recordPartial(type, results);
+        return results;
+    }
+
+    /** 요청한 점검 타입의 플러그인 (중복 제거, 요청 순서) */
+    private List<ProbePlugin> select(Collection<String> types) {
+        List<ProbePlugin> selected = new ArrayList<>();
+        for (String type : new LinkedHashSet<>(types)) {
+            ProbePlugin p = byType.get(type);
+            if (p == null) throw new IllegalArgumentException("알 수 없는 점검 타입: " + type);
+            selected.add(p);
+        }
+        if (selected.isEmpty()) throw new IllegalArgumentException("점검 타입이 지정되지 않았습니다.");
+        return selected;
+    }
+
+    /** 알림 발송 예약 (실제 전송은 NotificationService 가 비동기로 처리, 활성 채널이 없으면 무시) */
+    private void notifyAlerts(AggregateResult agg) {
+        if (!notificationService.hasEnabledChannel()) return;
+        for (CheckDTO r : agg.getTop()) {
+            // 알림 대상: 점검 실패 또는 남은 일수 <= 임계치
+            if (ResultAggregator.isAlert(r, props.getThresholdDays())) notificationService.notify(r);
+        }
+        // 상위 K 밖의 알림 대상은 요약 1건으로
+        if (agg.getAlertOverflow() > 0) {
+            notificationService.enqueue(new Notification(commonService.formatOverflow(agg), null));
+        }
+    }
+
+    /**
+     * 타깃 목록을 스테이지 파이프라인으로 점검하고, 결과를 완료되는 대로 타입별 sink 로 전달합니다.
+     * - 소스/정규화 (1 스레드) → DNS 해석 (certwatch.pipeline.resolvers) → 타입별 허가 요청 (1 스레드)
+     *   → 타입별 점검 (공유 풀, plugin.workers) → 집계 (호출 스레드)
+     * - 스테이지 사이는 유한 큐 (certwatch.pipeline.queue-capacity) 라 앞 스테이지가 너무 앞서가지 않습니다.
+     * - sink 는 호출 스레드에서만 호출됩니다. 모든 결과가 전달된 뒤 반환합니다.
+     * - 타입별 실행 1회는 JFR certwatch.CheckRun 이벤트로 기록됩니다. (레코딩 중일 때만)
+     * @param workerCap DNS 해석 워커 수 상한 (소량 배치용)
+     */
+    private void execute(List<String> targets, List<ProbePlugin> selected, int workerCap, Duration window,
+                         Map<String, Consumer<CheckDTO>> sinks) {
+        Cycle cycle = new Cycle(targets == null ? List.of() : targets, selected, workerCap,
+                window == null ? 0 : window.toMillis());
+        Map<String, long[]> counts = new HashMap<>();             // 타입별 [결과 수, 실패 수]
+        for (ProbePlugin p : selected) counts.put(p.type(), new long[2]);
+
+        boolean drained = false;
+        try {
+            // 1) 스테이지 시작
+            cycle.start();
+
+            // 2) 집계 스테이지 : 모든 점검 스테이지가 끝날 때까지 결과를 타입별 sink 로 전달
+            for (CheckDTO r; (r = cycle.results.take()) != END; ) {
+                Consumer<CheckDTO> sink = sinks.get(r.type);
+                if (sink == null) continue;
+                long[] c = counts.get(r.type);
+                c[0]++;
+                if (!r.ok) c[1]++;
+                sink.accept(r);
+            }
+            drained = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // 3) 스레드 정리 (중단/오류로 빠져나왔으면 남은 스테이지도 중단, 공유 풀에 남은 점검은 결과를 버림)
+            if (drained) {
+                cycle.threads.shutdown();
+            } else {
+                cycle.cancelled = true;
+                cycle.threads.shutdownNow();
+            }
+
+            for (Lane lane : cycle.lanes) {
+                CheckRunEvent ev = lane.runEvent;
+                ev.end();
+                if (!ev.shouldCommit()) continue;
+                long[] c = counts.get(lane.plugin.type());
+                ev.type = lane.plugin.type();
+                ev.targets = cycle.lines.size();
+                ev.probes = lane.probes.intValue();
+                ev.results = c[0];
+                ev.failed = c[1];
+                ev.workers = Math.max(1, lane.plugin.workers());
+                ev.virtualThread = ThreadKind.isVirtual();
+                ev.commit();
+            }
+        }
+    }
+
+    /** 이름 앞부분 + 번호를 붙이는 데몬 스레드 팩토리 */
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /** 예외를 결과 사유 문자열로 (CompletionException 은 원인 기준) */
+    private static String describe(Throwable e) {
+        Throwable c = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return c.getClass().getSimpleName() + ": " + c.getMessage();
+    }
+
+    /** 파이프라인 실행 1회의 스테이지/큐 */
+    private final class Cycle {
+        final List<String> lines;
+        final long windowMillis;
+
+        /** 스테이지 스레드 (소스 1 + 해석 워커 + 레인마다 넘기기/허가 요청 1씩, 고정 크기) */
+        final ExecutorService threads;
+
+        /** 집계 스테이지가 중단되었는지 (공유 풀에 남은 점검은 결과를 버림) */
+        volatile boolean cancelled;
+
+        /** 집계 스테이지 입력 (모든 점검 스테이지가 공유) */
+        final BlockingQueue<CheckDTO> results;
+        final Stage<PipelineTarget> resolveStage;
+        final List<Lane> lanes = new ArrayList<>();
+        final boolean resolveNeeded;
+
+        /** 호스트별 DNS 해석 결과 (실행당 한 번, 모든 점검 타입이 공유) */
+        final Map<String, CompletableFuture<Resolved>> dns = new ConcurrentHashMap<>();
+
+        Cycle(List<String> lines, List<ProbePlugin> selected, int workerCap, long windowMillis) {
+            this.lines = lines;
+            this.windowMillis = windowMillis;
+            int capacity = Math.max(1, props.getPipeline().getQueueCapacity());
+            this.results = new ArrayBlockingQueue<>(capacity);
+
+            // 허가 요청 스테이지 (타입별, 보류/점검 중인 타깃까지 모두 끝나면 레인 종료 → 전부 끝나면 집계 스테이지 입력 끝)
+            AtomicInteger lanesLeft = new AtomicInteger(selected.size());
+            for (ProbePlugin p : selected) {
+                Lane lane = new Lane(p, probePools.get(p.type()), capacity);
+                lane.stage = new Stage<>(p.type().toLowerCase(Locale.ROOT) + "-admit", capacity, 1,
+                        t -> admit(lane, t),
+                        () -> {
+                            lane.awaitIdle();
+                            if (lanesLeft.decrementAndGet() == 0) results.put(END);
+                        });
+                lanes.add(lane);
+            }
+
+            // DNS 해석 스테이지 (해석이 필요한 플러그인이 없으면 그대로 넘기기만)
+            this.resolveNeeded = selected.stream().anyMatch(ProbePlugin::needsAddress);
+            int resolvers = resolveNeeded ? Math.max(1, Math.min(props.getPipeline().getResolvers(), workerCap)) : 1;
+            this.resolveStage = new Stage<>("resolve", capacity, resolvers,
+                    t -> {
+                        if (resolveNeeded) resolve(t);
+                        handOff(t);
+                    },
+                    () -> {
+                        for (Lane lane : lanes) lane.pending.put(Lane.END);
+                    });
+
+            this.threads = Executors.newFixedThreadPool(1 + resolvers + 2 * lanes.size(), daemonThreads("certwatch-stage-"));
+        }
+
+        /** 뒤 스테이지부터 시작 (앞 스테이지가 넘길 때 받을 준비가 되어 있도록) */
+        void start() {
+            for (Lane lane : lanes) {
+                lane.stage.start(threads);
+                threads.execute(() -> forward(lane));
+            }
+            resolveStage.start(threads);
+            threads.execute(() -> {
+                Thread.currentThread().setName("certwatch-source");
+                try {
+                    source();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();           // 실행 중단
+                }
+            });
+        }
+
+        /**
+         * 소스/정규화 스테이지
+         * - 파싱 + 같은 (호스트, port) 는 하나의 타깃으로 합침 (대소문자/끝 점만 다른 표기)
+         * - window 가 있으면 타깃별 결정적 지터 순서로 창 전체에 펼쳐 넘기고, 없으면 등록 도메인을 번갈아 가며 즉시 넘김
+         */
+        void source() throws InterruptedException {
+            try {
+                // 1) 파싱 + 합치기
+                Map<String, PipelineTarget> unique = new LinkedHashMap<>();
+                for (String line : lines) {
+                    String[] hp;
+                    try {
+                        hp = commonService.parseTargetStrict(line);  // "host:port" 파싱
+                    } catch (IllegalArgumentException e) {
+                        // 불량 라인은 건너뛰지 않고 타입마다 실패 결과로 남겨 알림/응답에 드러나게 함
+                        for (Lane lane : lanes) {
+                            results.put(PipelineTarget.failed(lane.plugin.type(), line, 0, "잘못된 타깃 형식: " + e.getMessage()));
+                        }
+                        continue;
+                    }
+                    if (hp == null) continue;                     // 빈 줄/주석은 건너뜀
+                    String host = hp[0];
+                    int port = Integer.parseInt(hp[1]);
+                    unique.computeIfAbsent(PipelineTarget.key(PipelineTarget.normalize(host), port),
+                            k -> new PipelineTarget(host, port)).getSpellings().add(host);
+                }
+
+                // 2) 넘길 순서 결정
+                List<PipelineTarget> order;
+                LoadSpreader spreader = null;
+                if (windowMillis > 0) {
+                    order = new ArrayList<>(unique.values());
+                    for (PipelineTarget t : order) t.setOffsetMillis(LoadSpreader.offsetMillis(t.key(), windowMillis));
+                    order.sort(Comparator.comparingLong(PipelineTarget::getOffsetMillis));
+                    spreader = new LoadSpreader(windowMillis, order.size(), props.getScheduling().getBurst());
+                } else {
+                    order = interleaveByDomain(unique.values());
+                }
+                unique.clear();
+
+                // 3) 다음 스테이지로 (창이 있으면 지터 시점 + 토큰 버킷으로 페이싱)
+                for (PipelineTarget t : order) {
+                    if (spreader != null) spreader.await(t.getOffsetMillis());
+                    resolveStage.put(t);
+                }
+            } finally {
+                resolveStage.close();
+            }
+        }
+
+        /**
+         * 등록 도메인별로 묶어 번갈아 가며 나열합니다.
+         * - 같은 사이트의 서브도메인은 같은 IP/WHOIS 서버를 쓰는 경우가 많아, 연속으로 넘겨 허가 대기로 워커가 묶이지 않도록
+         */
+        List<PipelineTarget> interleaveByDomain(Collection<PipelineTarget> targets) {
+            Map<String, Deque<PipelineTarget>> byDomain = new LinkedHashMap<>();
+            for (PipelineTarget t : targets) {
+                byDomain.computeIfAbsent(commonService.registrableDomain(t.getName()), x -> new ArrayDeque<>()).add(t);
+            }
+            List<PipelineTarget> order = new ArrayList<>(targets.size());
+            while (!byDomain.isEmpty()) {
+                Iterator<Deque<PipelineTarget>> it = byDomain.values().iterator();
+                while (it.hasNext()) {
+                    Deque<PipelineTarget> q = it.next();
+                    order.add(q.poll());
+                    if (q.isEmpty()) it.remove();
+                }
+            }
+            return order;
+        }
+
+        /** DNS 해석 스테이지 : 같은 호스트는 먼저 해석한 워커의 결과를 공유 (실패 사유는 타깃에 기록) */
+        void resolve(PipelineTarget t) {
+            CompletableFuture<Resolved> mine = new CompletableFuture<>();
+            CompletableFuture<Resolved> f = dns.putIfAbsent(t.getName(), mine);
+            if (f == null) {
+                f = mine;
+                long start = System.nanoTime();
+                try {
+                    mine.complete(new Resolved(InetAddress.getByName(t.getHost()), System.nanoTime() - start));
+                } catch (UnknownHostException | RuntimeException e) {
+                    mine.completeExceptionally(e);
+                }
+            }
+            try {
+                Resolved resolved = f.join();
+                t.setAddress(resolved.addr);
+                t.setResolveNanos(resolved.nanos);
+            } catch (CompletionException e) {
+                Throwable c = e.getCause() != null ? e.getCause() : e;
+                t.setResolveError(c.getClass().getSimpleName() + ": " + c.getMessage());
+            }
+        }
+
+        /**
+         * 해석된 타깃을 모든 레인에 넘김
+         * - 레인마다 대기 없이 먼저 넘기고(레인 큐 → 보류 버퍼), 둘 다 가득 찬 레인에만 대기
+         * - 한 레인(SSL 등)이 밀려도 다른 레인은 보류 버퍼 한도까지 먼저 받아 계속 진행
+         */
+        void handOff(PipelineTarget t) throws InterruptedException {
+            List<Lane> full = null;
+            for (Lane lane : lanes) {
+                if (lane.stage.offer(t) || lane.pending.offer(t)) continue;
+                if (full == null) full = new ArrayList<>(lanes.size());
+                full.add(lane);
+            }
+            if (full != null) {
+                for (Lane lane : full) lane.pending.put(t);
+            }
+        }
+
+        /** 레인 넘기기 스레드 : 보류 버퍼를 레인 큐로 옮김 (이 레인에만 대기), 해석 스테이지가 끝나면 레인 입력 끝 */
+        void forward(Lane lane) {
+            Thread.currentThread().setName("certwatch-" + lane.plugin.type().toLowerCase(Locale.ROOT) + "-handoff");
+            try {
+                for (Object o; (o = lane.pending.take()) != Lane.END; ) lane.stage.put((PipelineTarget) o);
+                lane.stage.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();               // 실행 중단
+            }
+        }
+
+        /**
+         * 허가 요청 스테이지 : 점검할 타깃만 플러그인에 목적지 허가를 요청 (대기하지 않음)
+         * - 공유 키가 같은 타깃이 이미 점검 중/완료면 다시 점검하지 않고 그 결과를 받음
+         * - 허가가 나면 타입별 점검 풀로, 상한이면 플러그인이 보류했다가 허가가 반납될 때 넘김
+         * - 허가가 나서 점검 중인 타깃 수가 큐 크기에 이르면 대기 (점검 처리량에 맞춘 배압)
+         * - 보류된 타깃은 이 제한에 넣지 않음 → 한 목적지에 몰린 타깃이 다른 목적지의 허가 요청을 막지 않음
+         *   (보류분은 이번 실행의 타깃 객체 참조뿐이라 타깃 목록 이상으로 메모리를 쓰지 않음)
+         */
+        void admit(Lane lane, PipelineTarget t) throws InterruptedException {
+            ProbePlugin plugin = lane.plugin;
+            if (plugin.needsAddress() && t.getAddress() == null) {
+                emit(t, t.failure(plugin.type(), t.getResolveError()));
+                return;
+            }
+            String key = plugin.coalesceKey(t);
+            CompletableFuture<CheckDTO> mine = new CompletableFuture<>();
+            CompletableFuture<CheckDTO> shared = key == null ? null : lane.coalesced.putIfAbsent(key, mine);
+            if (shared != null) {
+                // 점검을 맡은 타깃이 끝나는 시점에 (그 스레드에서) 전달, 실패로 끝나도 전달
+                shared.whenComplete((r, e) -> emitQuietly(t, r != null ? r : t.failure(plugin.type(), describe(e))));
+                return;
+            }
+            lane.awaitRoom();
+            lane.requested();
+            try {
+                plugin.admit(t, permit -> dispatch(lane, t, permit, mine));
+            } catch (RuntimeException e) {
+                finish(lane, t, ProbePlugin.Permit.NONE, mine, t.failure(plugin.type(), describe(e)), false);
+            }
+        }
+
+        /** 허가가 난 타깃을 점검 풀로 (허가를 반납한 다른 점검 스레드에서 호출될 수 있으므로 대기하지 않음) */
+        void dispatch(Lane lane, PipelineTarget t, ProbePlugin.Permit permit, CompletableFuture<CheckDTO> mine) {
+            lane.dispatched();
+            try {
+                lane.pool.execute(() -> probe(lane, t, permit, mine));
+            } catch (RejectedExecutionException e) {
+                finish(lane, t, permit, mine, t.failure(lane.plugin.type(), "점검 스레드 풀이 종료되었습니다."), true);
+            }
+        }
+
+        /** 점검 스테이지 : 플러그인으로 점검 (점검 풀 스레드) */
+        void probe(Lane lane, PipelineTarget t, ProbePlugin.Permit permit, CompletableFuture<CheckDTO> mine) {
+            ProbePlugin plugin = lane.plugin;
+            CheckDTO r = null;
+            try {
+                if (cancelled) {
+                    r = t.failure(plugin.type(), "실행이 중단되었습니다.");
+                    return;
+                }
+                lane.probes.increment();
+                r = plugin.probe(t, props.getTimeoutSeconds());
+            } catch (RuntimeException e) {
+                r = t.failure(plugin.type(), describe(e));
+            } finally {
+                // Error 로 빠져나가도 허가 반납/공유 결과 완료/레인 종료 판단이 멈추지 않도록 항상 마무리
+                finish(lane, t, permit, mine, r, true);
+            }
+        }
+
+        /**
+         * 점검 1건 마무리 : 허가 반납 → 공유 결과 완료(없으면 예외로) → 결과 전달 → 진행 수 감소
+         * - 진행 수는 전달 뒤에 감소 (레인 종료 판단이 마지막 결과보다 앞서지 않도록)
+         */
+        void finish(Lane lane, PipelineTarget t, ProbePlugin.Permit permit, CompletableFuture<CheckDTO> mine, CheckDTO r,
+                    boolean dispatched) {
+            try {
+                permit.close();
+                if (r != null) {
+                    mine.complete(r);
+                } else {
+                    mine.completeExceptionally(new IllegalStateException("점검이 결과 없이 종료되었습니다."));
+                }
+                emitQuietly(t, r != null ? r : t.failure(lane.plugin.type(), "IllegalStateException: 점검이 결과 없이 종료되었습니다."));
+            } finally {
+                lane.finished(dispatched);
+            }
+        }
+
+        /**
+         * 점검 결과를 타깃의 원래 표기마다 복사해 집계 스테이지로 전달 (큐가 가득 차면 대기)
+         * - 집계가 중단된 실행이면 버림 (공유 점검 스레드가 영영 대기하지 않도록)
+         */
+        void emit(PipelineTarget t, CheckDTO r) throws InterruptedException {
+            for (String host : t.getSpellings()) {
+                CheckDTO copy = PipelineTarget.copyFor(r, host, t.getPort());
+                while (!results.offer(copy, 200, TimeUnit.MILLISECONDS)) {
+                    if (cancelled) return;
+                }
+            }
+        }
+
+        void emitQuietly(PipelineTarget t, CheckDTO r) {
+            try {
+                emit(t, r);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** 점검 타입 1개의 점검 레인 (넘기기 → 허가 요청 → 점검 풀) */
+    private static final class Lane {
+        /** 보류 버퍼 입력 끝 표시 */
+        static final Object END = new Object();
+
+        final ProbePlugin plugin;
+        /** 타입별 공유 점검 풀 */
+        final ExecutorService pool;
+        final CheckRunEvent runEvent = new CheckRunEvent();
+        /** 공유 키별 점검 결과 */
+        final Map<String, CompletableFuture<CheckDTO>> coalesced = new ConcurrentHashMap<>();
+        /** 실제 수행한 점검 수 */
+        final LongAdder probes = new LongAdder();
+        /** 레인 큐가 가득 찼을 때 해석 스테이지가 넘겨 두는 버퍼 (넘기기 스레드가 레인 큐로 옮김) */
+        final BlockingQueue<Object> pending;
+        /** 허가가 나서 점검 중인 타깃 수 상한 (큐 크기) */
+        final int capacity;
+        /** 허가 요청 후 결과 전달 전인 타깃 수 (보류 포함, this 잠금으로 보호) */
+        private int outstanding;
+        /** 그중 허가가 나서 점검 풀에 넘긴 수 */
+        private int inFlight;
+        Stage<PipelineTarget> stage;
+
+        Lane(ProbePlugin plugin, ExecutorService pool, int capacity) {
+            this.plugin = plugin;
+            this.pool = pool;
+            this.capacity = capacity;
+            this.pending = new ArrayBlockingQueue<>(capacity);
+            runEvent.begin();
+        }
+
+        /** 점검 중인 타깃이 상한 아래가 될 때까지 대기 (허가 요청 스레드) */
+        synchronized void awaitRoom() throws InterruptedException {
+            while (inFlight >= capacity) wait();
+        }
+
+        synchronized void requested() {
+            outstanding++;
+        }
+
+        /** 허가가 나서 점검 풀로 넘김 (허가를 반납한 스레드에서도 호출되므로 대기하지 않음) */
+        synchronized void dispatched() {
+            inFlight++;
+        }
+
+        /** 결과 전달까지 끝남 */
+        synchronized void finished(boolean wasDispatched) {
+            outstanding--;
+            if (wasDispatched) inFlight--;
+            notifyAll();
+        }
+
+        /** 보류/점검 중인 타깃이 모두 끝날 때까지 대기 (레인 종료 전) */
+        synchronized void awaitIdle() throws InterruptedException {
+            while (outstanding > 0) wait();
+        }
+    }
+
+    /** DNS 해석 결과 + 소요 시간 */
+    private static final class Resolved {
+        final InetAddress addr;
+        final long nanos;
+
+        Resolved(InetAddress addr, long nanos) {
+            this.addr = addr;
+            this.nanos = nanos;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.certwatch.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 번의 실행에서 점검 시작 시각을 시간 창(window) 전체에 고르게 펼치는 페이서입니다.
+ * - 타깃마다 결정적 지터 (키 해시 mod 창 크기) : 매 실행마다 같은 타깃은 같은 시점에 점검되어 간격이 일정
+ * - 토큰 버킷 : 해시가 한쪽에 몰려도 초당 시작 수가 평균(타깃 수 / 창)의 HEADROOM 배, 순간 burst 개를 넘지 않음
+ * - 창 끝 보장 : 남은 점검을 남은 시간 안에 모두 시작할 수 없으면 충전 속도를 (남은 수 / 남은 시간)으로 올리고,
+ *   창이 끝난 뒤에는 기다리지 않습니다. 창은 "시작" 시각의 상한이며, 마지막 점검은 점검 타임아웃만큼 창을 넘길 수 있습니다.
+ * - 호출은 제출 스레드 하나에서만 (동기화 없음)
+ */
+final class LoadSpreader {
+
+    /** 평균 속도 대비 허용 여유 (지터가 고르지 않아도 창 끝에 몰리지 않도록) */
+    private static final double HEADROOM = 1.2;
+
+    private final Clock clock;
+    private final long startNanos;
+    private final long deadlineNanos;
+    private final double ratePerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    /** 아직 시작하지 않은 점검 수 */
+    private long remaining;
+
+    /**
+     * @param windowMillis 시간 창(ms)
+     * @param items        창 안에서 시작할 점검 수
+     * @param burst        순간 최대 시작 수 (토큰 버킷 크기)
+     */
+    LoadSpreader(long windowMillis, int items, int burst) {
+        this(windowMillis, items, burst, Clock.SYSTEM);
+    }
+
+    LoadSpreader(long windowMillis, int items, int burst, Clock clock) {
+        double perMs = Math.max(1, items) * HEADROOM / Math.max(1, windowMillis);
+        this.clock = clock;
+        this.startNanos = clock.nanoTime();
+        this.deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMillis));
+        this.ratePerNano = perMs / 1_000_000d;
+        this.capacity = Math.max(1, burst);
+        this.tokens = capacity;
+        this.lastRefill = startNanos;
+        this.remaining = Math.max(1, items);
+    }
+
+    /**
+     * 타깃의 결정적 지터 (0 이상 windowMillis 미만)
+     * - 같은 키는 항상 같은 값, 비슷한 키도 창 전체에 고르게 흩어지도록 해시를 한 번 더 섞음
+     */
+    static long offsetMillis(String key, long windowMillis) {
+        if (windowMillis <= 0) return 0;
+        long h = 1125899906842597L;                               // FNV 류 64비트 누적
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) h = 31 * h + b;
+        h ^= h >>> 33;                                            // murmur3 fmix64
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return Math.floorMod(h, windowMillis);
+    }
+
+    /** 실행 시작 + offsetMillis 시각까지, 그리고 토큰이 생길 때까지 대기 후 토큰 1개 소비 (창이 끝났으면 바로) */
+    void await(long offsetMillis) throws InterruptedException {
+        long due = startNanos + TimeUnit.MILLISECONDS.toNanos(offsetMillis);
+        long wait = due - clock.nanoTime();
+        if (wait > 0) clock.sleepNanos(wait);
+
+        while (true) {
+            long now = clock.nanoTime();
+            if (now >= deadlineNanos) break;                      // 창 끝 : 남은 점검은 즉시 시작
+            double rate = rate(now);
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * rate);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                break;
+            }
+            // 다음 토큰까지 (창 끝을 넘겨 자지 않음)
+            clock.sleepNanos(Math.min(deadlineNanos - now, (long) Math.ceil((1 - tokens) / rate)));
+        }
+        remaining--;
+    }
+
+    /** 충전 속도 : 기본 속도와, 남은 점검을 창 끝까지 모두 시작하는 데 필요한 속도 중 큰 값 */
+    private double rate(long now) {
+        return Math.max(ratePerNano, Math.max(1, remaining) / (double) (deadlineNanos - now));
+    }
+
+    /** 시간 소스 (테스트에서 가상 시계로 교체) */
+    interface Clock {
+        Clock SYSTEM = new Clock() {
+            @Override
+            public long nanoTime() {
+                return System.nanoTime();
+            }
+
+            @Override
+            public void sleepNanos(long nanos) throws InterruptedException {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            }
+        };
+
+        long nanoTime();
+
+        void sleepNanos(long nanos) throws InterruptedException;
+    }
+}
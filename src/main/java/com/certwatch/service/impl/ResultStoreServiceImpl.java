@@ -0,0 +1,311 @@
+package com.certwatch.service.impl;
+
+import com.certwatch.aggregate.AggregateResult;
+import com.certwatch.aggregate.ResultAggregator;
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.CheckDTO;
+import com.certwatch.entity.SnapshotDTO;
+import com.certwatch.service.ResultStoreService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 최근 결과 보관소 구현입니다.
+ * - 타입별 기준 결과(base): 마지막 전체 실행 집계 (메모리 예산 이하면 메모리, 넘으면 정렬 스필 파일 + 압축 색인)
+ * - 부분 갱신(overlay): recordPartial 결과만 메모리에 두고, 메모리 예산을 넘으면 base 와 병합해 새 집계로 압축
+ * - 조회/내보내기는 base 와 overlay 를 정렬 순서로 병합하며 스트리밍 (전체 복사본을 만들지 않음)
+ * - 스트리밍 중인 base 는 retain/release 로 참조를 잡아, 교체되어도 읽기가 끝날 때까지 파일이 남음
+ */
+@Service("ResultStoreService")
+public class ResultStoreServiceImpl implements ResultStoreService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultStoreServiceImpl.class);
+
+    @Autowired
+    private CertwatchProperties props;
+
+    /** 타입(SSL/Domain) → 보관 결과 */
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    /** 타입별 마지막 전체 실행 시각 */
+    private final Map<String, Instant> lastRunAt = new ConcurrentHashMap<>();
+
+    /** 스냅샷 복원 소스 (최초 접근 시 한 번만 호출) */
+    private volatile Supplier<SnapshotDTO> restoreSource;
+
+    /** 복원 완료 여부 */
+    private volatile boolean restored;
+
+    @Override
+    public void setRestoreSource(Supplier<SnapshotDTO> source) {
+        this.restoreSource = source;
+    }
+
+    @Override
+    public void commitRun(String type, AggregateResult aggregate) {
+        ensureRestored();
+        // 전체 실행이므로 제외된 타깃의 옛 결과/부분 갱신이 남지 않도록 통째로 교체
+        replaceBase(slot(type), aggregate);
+        lastRunAt.put(type, Instant.now());
+    }
+
+    @Override
+    public void recordPartial(String type, List<CheckDTO> results) {
+        ensureRestored();
+        Slot slot = slot(type);
+        synchronized (slot) {
+            for (CheckDTO r : results) {
+                CheckDTO prev = slot.overlay.put(key(r.host, r.port), r);
+                if (prev == null && findInBase(slot.base, r.host, r.port) == null) slot.added++;
+            }
+            // overlay 가 메모리 예산을 넘지 않았거나 이미 다른 스레드가 압축 중이면 끝
+            if (slot.overlay.size() <= Math.max(1, props.getAggregate().getMemoryBudget()) || slot.compacting) return;
+            slot.compacting = true;
+        }
+        // overlay 가 메모리 예산을 넘으면 base 와 병합해 새 집계로 압축 (잠금 밖에서)
+        compact(type, slot);
+    }
+
+    @Override
+    public void forEachLatest(String type, Consumer<CheckDTO> sink) throws IOException {
+        ensureRestored();
+        Slot slot = slots.get(type);
+        if (slot == null) return;
+
+        // 1) 현재 base 참조 + overlay 복사본 (overlay 는 메모리 예산 이하)
+        AggregateResult base;
+        List<CheckDTO> overlay;
+        synchronized (slot) {
+            base = slot.base;
+            if (base != null) base.retain();   // 현재 base 는 보유자 참조가 있으므로 항상 성공
+            overlay = new ArrayList<>(slot.overlay.values());
+        }
+        // 2) 정렬 순서로 병합 (overlay 에 있는 타깃은 base 의 옛 결과 대신 overlay 결과)
+        try {
+            merge(base, overlay, sink);
+        } finally {
+            if (base != null) base.release();
+        }
+    }
+
+    @Override
+    public long count(String type) {
+        ensureRestored();
+        Slot slot = slots.get(type);
+        if (slot == null) return 0;
+        synchronized (slot) {
+            return (slot.base == null ? 0 : slot.base.getTotal()) + slot.added;
+        }
+    }
+
+    @Override
+    public CheckDTO find(String type, String host, int port) {
+        ensureRestored();
+        Slot slot = slots.get(type);
+        if (slot == null) return null;
+        AggregateResult base;
+        synchronized (slot) {
+            CheckDTO r = slot.overlay.get(key(host, port));
+            if (r != null) return r;
+            base = slot.base;
+            if (base == null) return null;
+            base.retain();
+        }
+        try {
+            return findInBase(base, host, port);
+        } finally {
+            base.release();
+        }
+    }
+
+    @Override
+    public Map<String, Instant> lastRuns() {
+        ensureRestored();
+        return new HashMap<>(lastRunAt);
+    }
+
+    @Override
+    public void exportAll(Consumer<CheckDTO> sink) throws IOException {
+        ensureRestored();
+        for (String type : new ArrayList<>(slots.keySet())) forEachLatest(type, sink);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 종료 시 디스크에 남은 정렬 결과 파일 정리 (읽는 중인 스트림이 있으면 그 스트림이 끝날 때 삭제)
+        for (Slot slot : slots.values()) replaceBase(slot, null);
+    }
+
+    /** base 교체 (이전 base 는 마지막 읽기가 끝나면 파일 정리) */
+    private void replaceBase(Slot slot, AggregateResult next) {
+        AggregateResult prev;
+        synchronized (slot) {
+            prev = slot.base;
+            slot.base = next;
+            slot.overlay.clear();
+            slot.added = 0;
+        }
+        if (prev != null && prev != next) prev.discard();
+    }
+
+    /**
+     * base + overlay 를 새 집계 하나로 압축
+     * - 병합(스필 파일 읽기/쓰기)은 잠금 밖에서 하고, 잠금 안에서는 base/overlay 교체만 (조회/부분 갱신을 막지 않음)
+     * - 압축하는 동안 갱신된 overlay 항목은 남기고, 그 사이 전체 실행으로 base 가 바뀌었으면 압축 결과를 버림
+     */
+    private void compact(String type, Slot slot) {
+        // 1) 현재 base 참조 + overlay 복사본
+        AggregateResult base;
+        Map<String, CheckDTO> overlay;
+        synchronized (slot) {
+            base = slot.base;
+            if (base != null) base.retain();
+            overlay = new HashMap<>(slot.overlay);
+        }
+
+        // 2) 잠금 밖에서 병합
+        ResultAggregator aggregator = ResultAggregator.of(type, props);
+        AggregateResult next = null;
+        try {
+            merge(base, new ArrayList<>(overlay.values()), aggregator::accept);
+            next = aggregator.finish();
+        } catch (IOException | RuntimeException e) {
+            // 압축 실패 시 overlay 를 유지하고 다음 갱신 때 다시 시도
+            if (next == null) {
+                try {
+                    aggregator.finish().discard();
+                } catch (RuntimeException ignored) {}
+            }
+            log.warn("[{}] 부분 갱신 결과 압축 실패: {}", type, e.toString());
+        } finally {
+            if (base != null) base.release();
+        }
+
+        // 3) 잠금 안에서 교체
+        AggregateResult stale = null;
+        synchronized (slot) {
+            slot.compacting = false;
+            if (next == null) return;
+            if (slot.base != base) {
+                stale = next;                                     // 그 사이 전체 실행으로 교체됨
+            } else {
+                slot.base = next;
+                stale = base;
+                slot.overlay.entrySet().removeIf(e -> overlay.get(e.getKey()) == e.getValue());
+                slot.added = 0;
+                for (CheckDTO r : slot.overlay.values()) {
+                    if (findInBase(next, r.host, r.port) == null) slot.added++;
+                }
+            }
+        }
+        if (stale != null) stale.discard();
+        if (stale != next) {
+            log.info("[{}] 부분 갱신 결과를 압축했습니다. (총 {}건, 스필={})", type, next.getTotal(), next.isSpilled());
+        }
+    }
+
+    /**
+     * base(정렬 스트림)와 overlay 를 정렬 순서로 병합해 전달
+     * - overlay 에 같은 타깃이 있으면 base 의 결과는 건너뜀
+     */
+    private static void merge(AggregateResult base, List<CheckDTO> overlay, Consumer<CheckDTO> sink) throws IOException {
+        overlay.sort(ResultAggregator.ORDER);
+        Set<String> replaced = new HashSet<>();
+        for (CheckDTO r : overlay) replaced.add(key(r.host, r.port));
+
+        int[] next = {0};
+        if (base != null) {
+            base.forEachSorted(r -> {
+                while (next[0] < overlay.size() && ResultAggregator.ORDER.compare(overlay.get(next[0]), r) <= 0) {
+                    sink.accept(overlay.get(next[0]++));
+                }
+                if (!replaced.contains(key(r.host, r.port))) sink.accept(r);
+            });
+        }
+        while (next[0] < overlay.size()) sink.accept(overlay.get(next[0]++));
+    }
+
+    private static CheckDTO findInBase(AggregateResult base, String host, int port) {
+        if (base == null) return null;
+        try {
+            return base.find(host, port);
+        } catch (IOException e) {
+            throw new UncheckedIOException("결과 조회 실패: " + host + ":" + port, e);
+        }
+    }
+
+    private Slot slot(String type) {
+        return slots.computeIfAbsent(type, k -> new Slot());
+    }
+
+    /**
+     * 스냅샷을 최초 접근 시점에 한 번만 복원 (부팅 경로에서는 디코딩하지 않음)
+     * - 스냅샷 결과를 타입별 집계기로 흘려 base 를 만듦 (메모리 예산을 넘으면 디스크로 스필)
+     */
+    private void ensureRestored() {
+        if (restored) return;
+        synchronized (this) {
+            if (restored) return;
+            Supplier<SnapshotDTO> source = restoreSource;
+            SnapshotDTO snap = source == null ? null : source.get();
+            if (snap != null) {
+                Instant now = Instant.now();
+                Map<String, ResultAggregator> aggregators = new LinkedHashMap<>();
+                try {
+                    for (CheckDTO r : snap.results) {
+                        // 중단된 동안 흐른 시간을 반영해 남은 일수 재계산 (알림 판단이 바로 맞도록)
+                        if (r.ok && r.notAfter != null) r.daysLeft = ChronoUnit.DAYS.between(now, r.notAfter);
+                        aggregators.computeIfAbsent(r.type, t -> ResultAggregator.of(t, props)).accept(r);
+                    }
+                    for (Map.Entry<String, ResultAggregator> e : aggregators.entrySet()) {
+                        replaceBase(slot(e.getKey()), e.getValue().finish());
+                    }
+                    lastRunAt.putAll(snap.lastRunAt);
+                } catch (RuntimeException e) {
+                    // 손상된 스냅샷이면 결과 없이 시작 (다음 전체 실행에서 다시 채워짐)
+                    log.warn("스냅샷 결과 복원 실패, 결과 없이 시작합니다: {}", e.toString());
+                    for (Slot slot : slots.values()) replaceBase(slot, null);
+                }
+                // 복원이 끝났으므로 스냅샷 매핑 참조 해제
+                snap.results = List.of();
+            }
+            restored = true;
+        }
+    }
+
+    /** 타깃 식별 키 (호스트는 대소문자 무시) */
+    private static String key(String host, int port) {
+        return (host == null ? "" : host.toLowerCase(Locale.ROOT)) + ":" + port;
+    }
+
+    /** 타입별 보관 결과 (slot 잠금으로 보호) */
+    private static final class Slot {
+        /** 마지막 전체 실행(또는 압축) 집계 */
+        AggregateResult base;
+        /** 이후 부분 갱신 결과 ("host:port" → 결과) */
+        final Map<String, CheckDTO> overlay = new HashMap<>();
+        /** overlay 중 base 에 없던 타깃 수 (건수 계산용) */
+        long added;
+        /** 압축 진행 중 여부 (한 번에 하나만) */
+        boolean compacting;
+    }
+}
@@ -0,0 +1,306 @@
+package com.certwatch.service.impl;
+
+import com.certwatch.aggregate.CheckCodec;
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.CheckDTO;
+import com.certwatch.entity.SnapshotDTO;
+import com.certwatch.service.CertCheckerService;
+import com.certwatch.service.DomainCheckerService;
+import com.certwatch.service.ResultStoreService;
+import com.certwatch.service.SnapshotService;
+import com.certwatch.service.TargetRegistryService;
+import com.common.service.CommonService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Service("SnapshotService")
+public class SnapshotServiceImpl implements SnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotServiceImpl.class);
+
+    /**
+     * 파일 식별자 "CWS1" + 포맷 버전
+     * - 1: 결과 건수(int) + 결과
+     * - 2: 결과마다 계속 표시(1바이트) + 결과, 끝에 0 (건수를 모른 채 스트리밍으로 기록)
+     */
+    private static final int MAGIC = 0x43575331;
+    private static final int VERSION = 2;
+
+    /** 구성 속성 주입 (application.properties 바인딩된 값) */
+    @Autowired
+    private CertwatchProperties props;
+
+    @Autowired
+    private CommonService commonService;
+
+    @Autowired
+    private ResultStoreService resultStore;
+
+    @Autowired
+    private TargetRegistryService targetRegistry;
+
+    @Autowired
+    private CertCheckerService certCheckerService;
+
+    @Autowired
+    private DomainCheckerService domainCheckerService;
+
+    /** 기동 시 매핑한 스냅샷 파일 (디코딩 전까지만 보관) */
+    private MappedByteBuffer mapped;
+
+    /** 한 번 디코딩한 스냅샷 (복원 소스들이 공유) */
+    private SnapshotDTO decoded;
+
+    /** 재기동 후 점진적 재점검용 단일 스레드 */
+    private ScheduledExecutorService resumeExecutor;
+
+    /** 재점검 대기열 ([type, "host:port"]) */
+    private Deque<String[]> resumeQueue;
+
+    /** 저장 간 직렬화용 락 */
+    private final Object saveLock = new Object();
+
+    /**
+     * 기동 시 스냅샷 파일을 메모리 매핑만 하고 복원 소스를 등록합니다.
+     * - 디코딩은 첫 조회 시점(또는 재점검 시작 시점)에 한 번만 일어납니다.
+     */
+    @PostConstruct
+    public void init() {
+        if (!props.getSnapshot().isEnabled()) return;
+        Path path = Paths.get(props.getSnapshot().getPath());
+        if (!Files.isRegularFile(path)) return;                   // 첫 기동 (스냅샷 없음)
+
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()); // 채널을 닫아도 매핑은 유지
+        } catch (IOException e) {
+            log.warn("스냅샷 파일을 열 수 없습니다: {} ({})", path, e.toString());
+            return;
+        }
+
+        Supplier<SnapshotDTO> source = this::decodeOnce;
+        resultStore.setRestoreSource(source);
+        targetRegistry.setRestoreSource(source);
+
+        // 오래된 결과를 한꺼번에 재점검하지 않도록 초당 N건씩 나눠서 재개
+        resumeExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "certwatch-resume");
+            t.setDaemon(true);
+            return t;
+        });
+        resumeExecutor.scheduleWithFixedDelay(this::resumeTick, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /** 주기 저장 (간격은 certwatch.snapshot.interval-seconds) */
+    @Scheduled(fixedDelayString = "${certwatch.snapshot.interval-seconds:300}",
+            initialDelayString = "${certwatch.snapshot.interval-seconds:300}",
+            timeUnit = TimeUnit.SECONDS)
+    public void scheduledSave() {
+        if (props.getSnapshot().isEnabled()) save();
+    }
+
+    /** 종료 시 저장 (빈이 파괴되기 전에 실행되는 컨텍스트 종료 이벤트 사용) */
+    @EventListener(ContextClosedEvent.class)
+    public void onShutdown() {
+        if (resumeExecutor != null) resumeExecutor.shutdownNow();
+        if (props.getSnapshot().isEnabled()) save();
+    }
+
+    @Override
+    public void save() {
+        synchronized (saveLock) {
+            Path path = Paths.get(props.getSnapshot().getPath());
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            try {
+                // 1) 현재 상태 수집 (결과 저장소가 아직 복원 전이면 여기서 복원되어 함께 저장됨)
+                Map<String, Instant> lastRuns = resultStore.lastRuns();
+                List<String> imported = targetRegistry.getImportedTargets();
+
+                // 2) 임시 파일에 기록 (결과는 보관소에서 한 건씩 받아 바로 기록)
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeLong(Instant.now().toEpochMilli());
+                    out.writeInt(lastRuns.size());
+                    for (Map.Entry<String, Instant> e : lastRuns.entrySet()) {
+                        CheckCodec.writeString(out, e.getKey());
+                        out.writeLong(e.getValue().toEpochMilli());
+                    }
+                    out.writeInt(imported.size());
+                    for (String t : imported) CheckCodec.writeString(out, t);
+                    try {
+                        resultStore.exportAll(r -> {
+                            try {
+                                out.writeBoolean(true);
+                                CheckCodec.write(out, r);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    } catch (UncheckedIOException e) {
+                        throw e.getCause();
+                    }
+                    out.writeBoolean(false);
+                }
+
+                // 3) 원자적으로 교체 (읽는 쪽이 반쯤 쓰인 파일을 보지 않도록)
+                try {
+                    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                // 매핑이 아직 해제되지 않은 환경(Windows 등)에서는 교체가 실패할 수 있음 → 다음 주기에 재시도
+                log.warn("스냅샷 저장 실패: {} ({})", path, e.toString());
+            }
+        }
+    }
+
+    /** 매핑된 스냅샷을 최초 1회만 디코딩 (손상된 파일이면 빈 상태로 시작) */
+    private synchronized SnapshotDTO decodeOnce() {
+        if (decoded != null || mapped == null) return decoded;
+        try {
+            decoded = decode(mapped);
+        } catch (RuntimeException e) {
+            log.warn("스냅샷 파일이 손상되어 무시합니다: {}", e.toString());
+            decoded = new SnapshotDTO();
+        }
+        mapped = null;                                            // 매핑 참조 해제 (GC 시 unmap)
+        return decoded;
+    }
+
+    /** 헤더는 바로 디코딩하고, 결과는 순회할 때 매핑된 버퍼에서 한 건씩 디코딩 (힙에 전체 목록을 만들지 않음) */
+    private static SnapshotDTO decode(ByteBuffer buf) {
+        if (buf.getInt() != MAGIC) throw new IllegalStateException("잘못된 스냅샷 파일");
+        int version = buf.getInt();
+        if (version != 1 && version != VERSION) throw new IllegalStateException("지원하지 않는 스냅샷 버전");
+        SnapshotDTO snap = new SnapshotDTO();
+        snap.savedAt = Instant.ofEpochMilli(buf.getLong());
+        int runs = buf.getInt();
+        for (int i = 0; i < runs; i++) {
+            String type = CheckCodec.readString(buf);
+            snap.lastRunAt.put(type, Instant.ofEpochMilli(buf.getLong()));
+        }
+        int imported = buf.getInt();
+        for (int i = 0; i < imported; i++) snap.importedTargets.add(CheckCodec.readString(buf));
+        ByteBuffer body = buf.slice();
+        snap.results = () -> new ResultIterator(body.duplicate(), version);
+        return snap;
+    }
+
+    /** 매핑된 스냅샷의 결과 영역을 순차로 디코딩하는 반복자 */
+    private static final class ResultIterator implements Iterator<CheckDTO> {
+        private final ByteBuffer buf;
+        private final boolean counted;
+        private int remaining;
+        private Boolean hasNext;
+
+        ResultIterator(ByteBuffer buf, int version) {
+            this.buf = buf;
+            this.counted = version == 1;
+            this.remaining = counted ? buf.getInt() : 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) hasNext = counted ? remaining > 0 : buf.get() != 0;
+            return hasNext;
+        }
+
+        @Override
+        public CheckDTO next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            hasNext = null;
+            remaining--;
+            return CheckCodec.read(buf);
+        }
+    }
+
+    /**
+     * 재기동 후 점진적 재점검 (1초마다 resume-per-second 건씩).
+     * - 첫 틱에서 오래된(stale-after-hours 초과) 결과만 골라 오래된 순으로 대기열을 만듭니다.
+     * - 그 사이 해당 타입의 전체 실행이 끝났으면 남은 대기열은 버립니다.
+     */
+    private void resumeTick() {
+        try {
+            if (resumeQueue == null) resumeQueue = buildResumeQueue();
+            Map<String, Instant> lastRuns = resultStore.lastRuns();
+            SnapshotDTO snap = decodeOnce();
+            Instant savedAt = snap == null ? null : snap.savedAt;
+
+            List<String> ssl = new ArrayList<>();
+            List<String> domain = new ArrayList<>();
+            int budget = Math.max(1, props.getSnapshot().getResumePerSecond());
+            while (budget > 0 && !resumeQueue.isEmpty()) {
+                String[] item = resumeQueue.poll();
+                Instant lastRun = lastRuns.get(item[0]);
+                if (savedAt != null && lastRun != null && lastRun.isAfter(savedAt)) continue; // 이미 전체 실행됨
+                ("SSL".equals(item[0]) ? ssl : domain).add(item[1]);
+                budget--;
+            }
+            if (!ssl.isEmpty()) certCheckerService.checkTargets(ssl);
+            if (!domain.isEmpty()) domainCheckerService.checkTargets(domain);
+
+            if (resumeQueue.isEmpty()) resumeExecutor.shutdown(); // 재개 완료
+        } catch (RuntimeException e) {
+            log.warn("재점검 중 오류: {}", e.toString());
+        }
+    }
+
+    private Deque<String[]> buildResumeQueue() {
+        SnapshotDTO snap = decodeOnce();
+        List<Object[]> stale = new ArrayList<>();                 // [type, target, checkedAt]
+        if (snap != null) {
+            Instant cutoff = Instant.now().minus(Duration.ofHours(props.getSnapshot().getStaleAfterHours()));
+            List<String> targets = targetRegistry.getTargets();
+            // 이전에 실행된 적 있는 타입만 재개
+            for (String type : snap.lastRunAt.keySet()) {
+                for (String t : targets) {
+                    String[] hp = commonService.parseTarget(t);
+                    if (hp == null) continue;
+                    CheckDTO prev = resultStore.find(type, hp[0], Integer.parseInt(hp[1]));
+                    Instant at = prev == null ? null : prev.checkedAt;
+                    if (at == null || at.isBefore(cutoff)) stale.add(new Object[]{type, t, at});
+                }
+            }
+        }
+        // 결과가 없거나 오래된 순으로
+        stale.sort(Comparator.comparing((Object[] o) -> (Instant) o[2], Comparator.nullsFirst(Comparator.naturalOrder())));
+        Deque<String[]> q = new ArrayDeque<>();
+        for (Object[] o : stale) q.add(new String[]{(String) o[0], (String) o[1]});
+        return q;
+    }
+}
@@ -0,0 +1,95 @@
+package com.certwatch.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 점검 파이프라인의 스테이지 1개입니다. (유한 큐 + 워커 N개)
+ * - 앞 스테이지는 put 으로 넘기고, 큐가 가득 차면 자리가 날 때까지 대기합니다. (배압 → 메모리 상한)
+ * - close 후 큐를 다 비우면 마지막 워커가 onDrained 를 한 번 호출합니다. (보통 다음 스테이지 close)
+ */
+final class Stage<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(Stage.class);
+
+    /** 입력 끝 표시 (워커가 꺼낸 뒤 다시 넣어 같은 스테이지의 다른 워커도 보게 함) */
+    private static final Object END = new Object();
+
+    private final String name;
+    private final BlockingQueue<Object> queue;
+    private final int workers;
+    private final Handler<T> handler;
+    private final Drained onDrained;
+    private final AtomicInteger live;
+
+    /** 항목 1건 처리 */
+    interface Handler<T> {
+        void handle(T item) throws InterruptedException;
+    }
+
+    /** 스테이지 종료 후속 작업 */
+    interface Drained {
+        void run() throws InterruptedException;
+    }
+
+    Stage(String name, int capacity, int workers, Handler<T> handler, Drained onDrained) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.workers = Math.max(1, workers);
+        this.handler = handler;
+        this.onDrained = onDrained;
+        this.live = new AtomicInteger(this.workers);
+    }
+
+    /** 워커 시작 */
+    void start(ExecutorService threads) {
+        for (int i = 0; i < workers; i++) {
+            int n = i + 1;
+            threads.execute(() -> {
+                Thread.currentThread().setName("certwatch-" + name + "-" + n);
+                work();
+            });
+        }
+    }
+
+    /** 항목 전달 (큐가 가득 차면 대기) */
+    void put(T item) throws InterruptedException {
+        queue.put(item);
+    }
+
+    /** 항목 전달 (큐가 가득 차면 대기하지 않고 false) */
+    boolean offer(T item) {
+        return queue.offer(item);
+    }
+
+    /** 입력 끝 (이후 put 금지) */
+    void close() throws InterruptedException {
+        queue.put(END);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void work() {
+        try {
+            while (true) {
+                Object o = queue.take();
+                if (o == END) {
+                    queue.put(END);
+                    break;
+                }
+                try {
+                    handler.handle((T) o);
+                } catch (RuntimeException e) {
+                    log.warn("[{}] 처리 중 오류 (건너뜀): {}", name, e.toString());   // (예외는 개별 무시)
+                }
+            }
+            if (live.decrementAndGet() == 0) onDrained.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();                   // 실행 중단 (스레드 종료)
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.certwatch.service.impl;
+
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.SnapshotDTO;
+import com.certwatch.entity.TargetImportResultDTO;
+import com.certwatch.service.TargetRegistryService;
+import com.common.service.CommonService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Service("TargetRegistryService")
+public class TargetRegistryServiceImpl implements TargetRegistryService {
+
+    /** 응답에 담을 라인별 오류의 최대 개수 (나머지는 rejected 카운트로만 집계) */
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    /** 오류 리포트에 남길 원본 라인의 최대 길이 */
+    private static final int MAX_RAW_LENGTH = 200;
+
+    /** 구성 속성 주입 (application.properties 바인딩된 값) */
+    @Autowired
+    private CertwatchProperties props;
+
+    @Autowired
+    private CommonService commonService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * API 로 임포트된 타깃 (정규화 키 "host:port" → 타깃 문자열).
+     * 읽기 전용 스냅샷을 volatile 참조로 교체하므로, 읽는 쪽은 락 없이 항상 일관된 셋을 봅니다.
+     */
+    private volatile Map<String, String> imported = Collections.emptyMap();
+
+    /** 임포트 간 직렬화용 락 (동시 임포트가 서로의 결과를 덮어쓰지 않도록) */
+    private final Object importLock = new Object();
+
+    /** 스냅샷 복원 소스 (최초 접근 시 한 번만 호출) */
+    private volatile Supplier<SnapshotDTO> restoreSource;
+
+    /** 복원 완료 여부 */
+    private volatile boolean restored;
+
+    @Override
+    public void setRestoreSource(Supplier<SnapshotDTO> source) {
+        this.restoreSource = source;
+    }
+
+    @Override
+    public List<String> getImportedTargets() {
+        ensureRestored();
+        return new ArrayList<>(imported.values());
+    }
+
+    @Override
+    public List<String> getTargets() {
+        ensureRestored();
+        // 설정 타깃 + 임포트 타깃을 정규화 키로 중복 제거 (설정 파일 순서 우선)
+        Map<String, String> merged = new LinkedHashMap<>();
+        for (String t : commonService.loadTargets(props)) {
+            String[] hp = commonService.parseTarget(t);
+            // 불량 라인은 원문 그대로 넘겨서 점검 단계에서 실패로 보고되게 함
+            merged.putIfAbsent(hp == null ? t : key(hp[0], hp[1]), hp == null ? t : commonService.formatTarget(hp[0], hp[1]));
+        }
+        for (Map.Entry<String, String> e : imported.entrySet()) {
+            merged.putIfAbsent(e.getKey(), e.getValue());
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    @Override
+    public TargetImportResultDTO importTargets(Reader reader, String format, boolean replace, boolean strict) throws IOException {
+        boolean ndjson = isNdjson(format);                        // 형식 판별 (알 수 없으면 예외)
+
+        TargetImportResultDTO result = new TargetImportResultDTO();
+        result.format = ndjson ? "NDJSON" : "CSV";
+
+        // 1) 스트림을 한 줄씩 읽어 검증된 타깃만 스테이징 (바디 전체를 메모리에 올리지 않음)
+        Map<String, String> staged = new LinkedHashMap<>();
+        BufferedReader br = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        String line;
+        while ((line = br.readLine()) != null) {                  // EOF까지 라인 반복
+            long lineNo = ++result.lines;
+            String t = line.trim();
+            if (t.isEmpty() || t.startsWith("#")) continue;       // 빈 줄/주석(#) 무시
+            if (!ndjson && lineNo == 1 && isCsvHeader(t)) continue; // CSV 헤더 무시
+            try {
+                String[] hp = ndjson ? parseNdjsonLine(t) : parseCsvLine(t);
+                staged.put(key(hp[0], hp[1]), commonService.formatTarget(hp[0], hp[1]));
+                result.accepted++;
+            } catch (IllegalArgumentException e) {
+                // 라인별 오류 기록 (조용히 버리지 않음)
+                result.rejected++;
+                if (result.errors.size() < MAX_REPORTED_ERRORS) {
+                    result.errors.add(new TargetImportResultDTO.LineError(lineNo, abbreviate(t), e.getMessage()));
+                }
+            }
+        }
+
+        // 2) strict 모드에서 오류가 있으면 아무것도 반영하지 않음
+        if (strict && result.rejected > 0) {
+            result.applied = false;
+            result.importedTotal = imported.size();
+            return result;
+        }
+
+        // 3) 새 스냅샷을 만들어 참조를 한 번에 교체 (읽는 쪽은 이전/이후 셋 중 하나만 봄)
+        ensureRestored();
+        synchronized (importLock) {
+            Map<String, String> current = imported;
+            Map<String, String> next = new LinkedHashMap<>(replace ? Collections.emptyMap() : current);
+            for (Map.Entry<String, String> e : staged.entrySet()) {
+                if (current.containsKey(e.getKey())) result.updated++;
+                else result.inserted++;
+                next.put(e.getKey(), e.getValue());
+            }
+            imported = Collections.unmodifiableMap(next);
+            result.applied = true;
+            result.importedTotal = next.size();
+        }
+        return result;
+    }
+
+    /** 재기동 전 임포트된 타깃을 최초 접근 시점에 한 번만 복원 */
+    private void ensureRestored() {
+        if (restored) return;
+        synchronized (importLock) {
+            if (restored) return;
+            Supplier<SnapshotDTO> source = restoreSource;
+            SnapshotDTO snap = source == null ? null : source.get();
+            if (snap != null && !snap.importedTargets.isEmpty()) {
+                Map<String, String> next = new LinkedHashMap<>();
+                for (String t : snap.importedTargets) {
+                    String[] hp = commonService.parseTarget(t);
+                    if (hp != null) next.put(key(hp[0], hp[1]), commonService.formatTarget(hp[0], hp[1]));
+                }
+                next.putAll(imported);
+                imported = Collections.unmodifiableMap(next);
+            }
+            restored = true;
+        }
+    }
+
+    /** NDJSON 한 줄 파싱: {"host":"a.com","port":443} 또는 {"target":"a.com:8443"} */
+    private String[] parseNdjsonLine(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 파싱 실패: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+        }
+        String target;
+        if (node.hasNonNull("target")) {
+            target = node.get("target").asText();
+        } else if (node.hasNonNull("host")) {
+            target = node.get("host").asText();
+            if (node.hasNonNull("port")) {
+                if (hasPort(target)) throw new IllegalArgumentException("host 와 port 에 포트가 중복 지정되었습니다.");
+                target = commonService.formatTarget(target, node.get("port").asText());
+            }
+        } else {
+            throw new IllegalArgumentException("host 또는 target 필드가 없습니다.");
+        }
+        return strict(target);
+    }
+
+    /** CSV 한 줄 파싱: "host", "host:port", "host,port" */
+    private String[] parseCsvLine(String line) {
+        String[] cols = line.split(",", -1);
+        if (cols.length > 2) throw new IllegalArgumentException("컬럼 수 초과 (host[,port]): " + cols.length);
+        String target = unquote(cols[0]);
+        if (cols.length == 2 && !unquote(cols[1]).isEmpty()) {
+            if (hasPort(target)) throw new IllegalArgumentException("host 와 port 에 포트가 중복 지정되었습니다.");
+            target = commonService.formatTarget(target, unquote(cols[1]));
+        }
+        return strict(target);
+    }
+
+    /** host 값에 이미 포트가 붙어 있는지 ("host:port", "[IPv6]:port" / 대괄호 없는 IPv6 는 포트 없음) */
+    private static boolean hasPort(String host) {
+        if (host.startsWith("[")) return host.indexOf("]:") > 0;
+        return host.indexOf(':') >= 0 && host.indexOf(':') == host.lastIndexOf(':');
+    }
+
+    /** 엄격 파싱 결과가 null(빈 값/주석)이면 오류로 취급 */
+    private String[] strict(String target) {
+        String[] hp = commonService.parseTargetStrict(target);
+        if (hp == null) throw new IllegalArgumentException("타깃이 비어 있습니다.");
+        return hp;
+    }
+
+    /** Content-Type 또는 format 파라미터로 입력 형식 판별 */
+    private static boolean isNdjson(String format) {
+        String f = format == null ? "" : format.toLowerCase(Locale.ROOT);
+        if (f.contains("ndjson") || f.contains("json")) return true;
+        if (f.contains("csv") || f.contains("text/plain")) return false;
+        throw new IllegalArgumentException("지원하지 않는 형식입니다: " + format + " (ndjson 또는 csv)");
+    }
+
+    /** 첫 줄이 "host" 또는 "host,port" 헤더인지 */
+    private static boolean isCsvHeader(String line) {
+        String l = line.toLowerCase(Locale.ROOT).replace("\"", "");
+        return l.equals("host") || l.startsWith("host,") || l.equals("target");
+    }
+
+    private static String unquote(String s) {
+        String t = s.trim();
+        if (t.length() >= 2 && t.startsWith("\"") && t.endsWith("\"")) t = t.substring(1, t.length() - 1).trim();
+        return t;
+    }
+
+    private static String abbreviate(String s) {
+        return s.length() <= MAX_RAW_LENGTH ? s : s.substring(0, MAX_RAW_LENGTH) + "...";
+    }
+
+    /** 중복 판정용 정규화 키 (호스트는 대소문자 무시) */
+    private static String key(String host, String port) {
+        return host.toLowerCase(Locale.ROOT) + ":" + port;
+    }
+}
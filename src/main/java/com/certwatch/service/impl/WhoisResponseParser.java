@@ -0,0 +1,183 @@
+package com.certwatch.service.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 레지스트리별 WHOIS 응답에서 만료일을 읽는 파서입니다.
+ * - 정규식/날짜 포맷은 모두 클래스 로딩 시 한 번만 컴파일
+ * - 레지스트리 전용 패턴이 먼저, 못 찾으면 범용 패턴으로 재시도
+ * - 응답 바이트는 UTF-8 로 먼저 디코딩하고, 깨지면 레지스트리 고유 문자셋(.kr 은 EUC-KR)으로 디코딩
+ */
+final class WhoisResponseParser {
+
+    /** 범용 만료일 라인 ("키 : 값") */
+    private static final Pattern GENERIC_EXPIRY = Pattern.compile(
+            "^\\s*(?:Registry Expiry Date|Registrar Registration Expiration Date|Expiration Date|Expiry Date"
+                    + "|Expiration Time|Expires On|Expires|Expire Date|expire|paid-till|renewal date)\\s*[:.]\\s*(.+?)\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+
+    /** KISA(.kr) : "Expiration Date : 2026. 03. 15." / "사용 종료일 : 2026. 03. 15." */
+    private static final Pattern KISA_EXPIRY = Pattern.compile(
+            "^\\s*(?:Expiration Date|사용 종료일)\\s*:\\s*(\\d{4}\\.\\s*\\d{1,2}\\.\\s*\\d{1,2})",
+            Pattern.MULTILINE);
+
+    /** Verisign(.com/.net) : "Registry Expiry Date: 2028-09-14T04:00:00Z" */
+    private static final Pattern VERISIGN_EXPIRY = Pattern.compile(
+            "^\\s*Registry Expiry Date:\\s*(\\S+)", Pattern.MULTILINE);
+
+    /** JPRS(.jp) : "[有効期限]  2026/03/31" / "[Expires on] 2026/03/31" */
+    private static final Pattern JPRS_EXPIRY = Pattern.compile(
+            "^\\s*\\[(?:有効期限|Expires on|状態)\\]\\s*(?:Active\\s*\\()?(\\d{4}/\\d{2}/\\d{2})", Pattern.MULTILINE);
+
+    /** UTF-8 이 아닌 응답을 보내는 레지스트리의 문자셋 (그 외는 ISO-8859-1 로 바이트 보존) */
+    private static final Map<String, Charset> LEGACY_CHARSETS = Map.of(
+            "kr", Charset.forName("EUC-KR"));
+
+    /** JPRS 기본 응답 문자셋 (7비트 이스케이프 시퀀스라 UTF-8 로도 깨지지 않으므로 ESC 로 판별) */
+    private static final Charset ISO_2022_JP = Charset.forName("ISO-2022-JP");
+
+    /** 등록되지 않은 도메인 응답 */
+    private static final Pattern NOT_FOUND = Pattern.compile(
+            "No match for|NOT FOUND|No Data Found|No entries found|not been registered|is not registered"
+                    + "|requested domain was not found|등록되지 않은",
+            Pattern.CASE_INSENSITIVE);
+
+    /** 날짜 뒤에 붙는 부가 표기 (" (JST)", " UTC", 끝의 ".") */
+    private static final Pattern DATE_SUFFIX = Pattern.compile("\\s*(?:\\(.*\\)|UTC|GMT|KST|JST)?\\.?\\s*$");
+
+    /** 범용 날짜+시각 포맷 (ISO 계열은 별도 처리, 시간대 없으면 UTC) */
+    private static final List<DateTimeFormatter> DATE_TIME_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.ROOT),
+            DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss", Locale.ROOT),
+            new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("dd-MMM-yyyy HH:mm:ss").toFormatter(Locale.ENGLISH));
+
+    /** 범용 날짜 포맷 (UTC 자정으로 해석) */
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.ROOT),
+            DateTimeFormatter.ofPattern("yyyy.M.d", Locale.ROOT),
+            DateTimeFormatter.ofPattern("yyyy/M/d", Locale.ROOT),
+            DateTimeFormatter.ofPattern("yyyyMMdd", Locale.ROOT),
+            new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("dd-MMM-yyyy").toFormatter(Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd.MM.yyyy", Locale.ROOT));
+
+    /** KISA 표기의 구분자 뒤 공백 ("2026. 03. 15" → "2026.03.15") */
+    private static final Pattern DOT_SPACES = Pattern.compile("\\.\\s+");
+
+    static final WhoisResponseParser KISA = new WhoisResponseParser("KISA", KISA_EXPIRY);
+    static final WhoisResponseParser VERISIGN = new WhoisResponseParser("Verisign", VERISIGN_EXPIRY);
+    static final WhoisResponseParser JPRS = new WhoisResponseParser("JPRS", JPRS_EXPIRY);
+    static final WhoisResponseParser GENERIC = new WhoisResponseParser("generic", GENERIC_EXPIRY);
+
+    private final String name;
+    private final Pattern expiry;
+
+    private WhoisResponseParser(String name, Pattern expiry) {
+        this.name = name;
+        this.expiry = expiry;
+    }
+
+    /** TLD 에 맞는 레지스트리 파서 */
+    static WhoisResponseParser forTld(String tld) {
+        switch (tld) {
+            case "kr":
+                return KISA;
+            case "com":
+            case "net":
+                return VERISIGN;
+            case "jp":
+                return JPRS;
+            default:
+                return GENERIC;
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * WHOIS 응답 바이트를 문자열로 (RFC 3912 는 문자셋을 정하지 않음)
+     * 1) ISO-2022-JP 이스케이프(ESC)가 있으면 ISO-2022-JP
+     * 2) 엄격한 UTF-8 디코딩이 성공하면 UTF-8
+     * 3) 실패하면 TLD 의 레거시 문자셋 (.kr → EUC-KR, 그 외 ISO-8859-1)
+     */
+    static String decode(byte[] raw, String tld) {
+        for (byte b : raw) {
+            if (b == 0x1B) return new String(raw, ISO_2022_JP);
+        }
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(raw))
+                    .toString();
+        } catch (CharacterCodingException e) {
+            return new String(raw, LEGACY_CHARSETS.getOrDefault(tld, StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    /** 등록되지 않은 도메인 응답인지 */
+    static boolean isNotFound(String response) {
+        return NOT_FOUND.matcher(response).find();
+    }
+
+    /**
+     * 응답에서 만료일을 읽습니다.
+     * @return 만료 시각 (UTC 자정 기준 포함), 없으면 null
+     */
+    Instant parseExpiration(String response) {
+        Instant t = match(expiry, response);
+        if (t == null && this != GENERIC) t = match(GENERIC_EXPIRY, response);
+        return t;
+    }
+
+    private Instant match(Pattern p, String response) {
+        Matcher m = p.matcher(response);
+        while (m.find()) {
+            Instant t = parseDate(m.group(1));
+            if (t != null) return t;                               // 첫 번째로 읽히는 값 사용
+        }
+        return null;
+    }
+
+    /** 여러 표기의 날짜 문자열을 Instant 로 (시간대 없으면 UTC) */
+    static Instant parseDate(String raw) {
+        if (raw == null) return null;
+        String s = DATE_SUFFIX.matcher(raw.trim()).replaceFirst("");
+        s = DOT_SPACES.matcher(s).replaceAll(".");
+        if (s.isEmpty()) return null;
+        try {
+            return OffsetDateTime.parse(s).toInstant();            // 2028-09-14T04:00:00Z, +09:00
+        } catch (RuntimeException ignored) {}
+        try {
+            return LocalDateTime.parse(s).toInstant(ZoneOffset.UTC);
+        } catch (RuntimeException ignored) {}
+        for (DateTimeFormatter f : DATE_TIME_FORMATS) {
+            try {
+                return LocalDateTime.parse(s, f).toInstant(ZoneOffset.UTC);
+            } catch (RuntimeException ignored) {}
+        }
+        for (DateTimeFormatter f : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(s, f).atStartOfDay(ZoneOffset.UTC).toInstant();
+            } catch (RuntimeException ignored) {}
+        }
+        return null;
+    }
+}
@@ -0,0 +1,279 @@
+package com.certwatch.service.impl;
+
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.service.WhoisService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service("WhoisService")
+public class WhoisServiceImpl implements WhoisService {
+
+    private static final Logger log = LoggerFactory.getLogger(WhoisServiceImpl.class);
+
+    /** WHOIS 기본 포트 */
+    private static final int WHOIS_PORT = 43;
+
+    /** 응답 최대 크기 (비정상 서버가 끝없이 보내는 경우 방어) */
+    private static final int MAX_RESPONSE_BYTES = 64 * 1024;
+
+    /** 알려진 TLD 의 WHOIS 서버 (그 외는 whois.iana.org 의 refer 로 찾음) */
+    private static final Map<String, String> KNOWN_SERVERS = Map.ofEntries(
+            Map.entry("kr", "whois.kr"),
+            Map.entry("com", "whois.verisign-grs.com"),
+            Map.entry("net", "whois.verisign-grs.com"),
+            Map.entry("org", "whois.publicinterestregistry.org"),
+            Map.entry("jp", "whois.jprs.jp"),
+            Map.entry("io", "whois.nic.io"),
+            Map.entry("me", "whois.nic.me"),
+            Map.entry("co", "whois.nic.co"),
+            Map.entry("info", "whois.nic.info"),
+            Map.entry("biz", "whois.nic.biz"),
+            Map.entry("uk", "whois.nic.uk"),
+            Map.entry("de", "whois.denic.de"),
+            Map.entry("cn", "whois.cnnic.cn"));
+
+    /** TLD 별 WHOIS 서버를 알려주는 IANA 서버 */
+    private static final String IANA_SERVER = "whois.iana.org";
+
+    /** IANA 응답의 "refer: whois.nic.xyz" */
+    private static final Pattern IANA_REFER = Pattern.compile("^\\s*(?:refer|whois):\\s*(\\S+)", Pattern.MULTILINE | Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private CertwatchProperties props;
+
+    /** 도메인 → 조회 결과 (진행 중이면 미완료 future, 완료 후에는 TTL 까지 재사용) */
+    private final ConcurrentHashMap<String, Cached> cache = new ConcurrentHashMap<>();
+
+    /** TLD → WHOIS 서버 (IANA 조회 결과 포함) */
+    private final ConcurrentHashMap<String, String> serverByTld = new ConcurrentHashMap<>();
+
+    /** 서버별 연결 제한/페이싱 */
+    private final ConcurrentHashMap<String, ServerLane> lanes = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isEnabled() {
+        return props.getWhois().isEnabled();
+    }
+
+    @Override
+    public Instant lookupExpiration(String domain) throws IOException {
+        String key = domain.toLowerCase(Locale.ROOT);
+
+        // 1) 유효한 캐시가 있으면 그대로, 없으면 내가 조회 담당 (동시 요청은 같은 future 를 기다림)
+        Cached mine = new Cached();
+        Cached cached = cache.compute(key, (k, old) -> old != null && !old.isExpired() ? old : mine);
+        if (cached == mine) {
+            evictIfFull();
+            try {
+                cached.complete(Outcome.ok(query(key)), props.getWhois().getCacheTtlHours() * 3600_000L);
+            } catch (InterruptedIOException e) {
+                cached.complete(Outcome.failed(e), 0);               // 중단은 도메인 탓이 아니므로 캐시하지 않음
+            } catch (IOException | RuntimeException e) {
+                cached.complete(Outcome.failed(e), props.getWhois().getNegativeTtlMinutes() * 60_000L);
+            }
+        }
+
+        // 2) 결과 반환 (실패도 캐시된 사유 그대로)
+        Outcome o = cached.await();
+        if (o.error != null) throw new IOException(o.error);
+        return o.expiration;
+    }
+
+    /** 실제 WHOIS 조회 (서버 선택 → 질의 → 레지스트리 파서) */
+    private Instant query(String domain) throws IOException {
+        String tld = domain.substring(domain.lastIndexOf('.') + 1);
+        String server = serverFor(tld);
+        String response = ask(server, domain, tld);
+
+        // 만료일을 먼저 찾음 (등록된 도메인 응답의 안내문/꼬리말에도 "not found" 같은 문구가 있을 수 있음)
+        WhoisResponseParser parser = WhoisResponseParser.forTld(tld);
+        Instant exp = parser.parseExpiration(response);
+        if (exp == null) {
+            if (WhoisResponseParser.isNotFound(response)) {
+                throw new IOException("등록 정보 없음 (" + server + ")");
+            }
+            throw new IOException("응답에서 만료일을 찾을 수 없습니다 (" + server + ", " + parser.getName() + ")");
+        }
+        log.debug("WHOIS {} → {} ({})", domain, exp, server);
+        return exp;
+    }
+
+    /** TLD 의 WHOIS 서버 (설정 재정의 → 알려진 서버 → IANA refer) */
+    private String serverFor(String tld) throws IOException {
+        String override = props.getWhois().getServers().get(tld);
+        if (override != null && !override.isBlank()) return override.trim();
+        String known = KNOWN_SERVERS.get(tld);
+        if (known != null) return known;
+
+        String cachedServer = serverByTld.get(tld);
+        if (cachedServer != null) return cachedServer;
+        Matcher m = IANA_REFER.matcher(ask(IANA_SERVER, tld, ""));
+        if (!m.find()) throw new IOException("WHOIS 서버를 찾을 수 없는 TLD: " + tld);
+        String server = m.group(1);
+        serverByTld.put(tld, server);
+        return server;
+    }
+
+    /** 서버 1곳에 질의 1건 (서버별 동시 연결 수/요청 간격 준수, 응답은 TLD 에 맞는 문자셋으로 디코딩) */
+    private String ask(String server, String query, String tld) throws IOException {
+        ServerLane lane = lanes.computeIfAbsent(server, s -> new ServerLane(props.getWhois().getPerServer()));
+        try {
+            lane.acquire(props.getWhois().getMinIntervalMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("WHOIS 대기 중 중단되었습니다.");
+        }
+        try {
+            return WhoisResponseParser.decode(send(server, query), tld);
+        } finally {
+            lane.release();
+        }
+    }
+
+    /** WHOIS 프로토콜 : 질의 한 줄 전송 후 서버가 연결을 닫을 때까지 읽음 (RFC 3912) */
+    private byte[] send(String server, String query) throws IOException {
+        String host = server;
+        int port = WHOIS_PORT;
+        int colon = server.lastIndexOf(':');
+        if (colon > 0) {                                          // "host:port" 재정의 (로컬 대역 서버 등)
+            host = server.substring(0, colon);
+            port = Integer.parseInt(server.substring(colon + 1));
+        }
+        int timeoutMs = props.getWhois().getTimeoutSeconds() * 1000;
+        try (Socket socket = new Socket()) {
+            socket.setSoTimeout(timeoutMs);
+            socket.connect(new InetSocketAddress(host, port), timeoutMs);
+            OutputStream out = socket.getOutputStream();
+            out.write((query + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            InputStream in = socket.getInputStream();
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            byte[] chunk = new byte[4096];
+            int n;
+            while ((n = in.read(chunk)) != -1) {
+                buf.write(chunk, 0, Math.min(n, MAX_RESPONSE_BYTES - buf.size()));
+                if (buf.size() >= MAX_RESPONSE_BYTES) break;
+            }
+            return buf.toByteArray();
+        }
+    }
+
+    /** 캐시가 넘치면 만료된 항목부터 정리하고, 그래도 넘치면 임의 항목 제거 */
+    private void evictIfFull() {
+        int max = Math.max(1, props.getWhois().getCacheMaxEntries());
+        if (cache.size() <= max) return;
+        cache.values().removeIf(Cached::isExpired);
+        Iterator<Map.Entry<String, Cached>> it = cache.entrySet().iterator();
+        while (cache.size() > max && it.hasNext()) {
+            if (it.next().getValue().isDone()) it.remove();
+        }
+    }
+
+    /** 조회 결과 (만료 시각 또는 실패 사유) */
+    private static final class Outcome {
+        final Instant expiration;
+        final String error;
+
+        private Outcome(Instant expiration, String error) {
+            this.expiration = expiration;
+            this.error = error;
+        }
+
+        static Outcome ok(Instant expiration) {
+            return new Outcome(expiration, null);
+        }
+
+        static Outcome failed(Exception e) {
+            String msg = e instanceof IOException && e.getMessage() != null
+                    ? e.getMessage()
+                    : e.getClass().getSimpleName() + ": " + e.getMessage();
+            return new Outcome(null, msg);
+        }
+    }
+
+    /** 캐시 항목 (완료 전에는 만료되지 않음) */
+    private static final class Cached {
+        private final CompletableFuture<Outcome> future = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        void complete(Outcome o, long ttlMs) {
+            expiresAt = System.currentTimeMillis() + ttlMs;
+            future.complete(o);
+        }
+
+        boolean isDone() {
+            return future.isDone();
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+
+        Outcome await() throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("WHOIS 결과 대기 중 중단되었습니다.");
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+        }
+    }
+
+    /** 서버 1곳의 동시 연결 상한 + 요청 간 최소 간격 */
+    private static final class ServerLane {
+        private final Semaphore permits;
+        /** 다음 요청이 허용되는 시각(ns, nanoTime 기준) */
+        private long nextAllowed = System.nanoTime();
+
+        ServerLane(int perServer) {
+            this.permits = new Semaphore(Math.max(1, perServer));
+        }
+
+        void acquire(long minIntervalMs) throws InterruptedException {
+            permits.acquire();
+            long waitNs;
+            synchronized (this) {
+                // 요청 시각을 미리 예약해 두고 그때까지 대기 (동시에 들어와도 간격이 유지됨)
+                long now = System.nanoTime();
+                long at = Math.max(now, nextAllowed);
+                nextAllowed = at + TimeUnit.MILLISECONDS.toNanos(minIntervalMs);
+                waitNs = at - now;
+            }
+            try {
+                if (waitNs > 0) TimeUnit.NANOSECONDS.sleep(waitNs);
+            } catch (InterruptedException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        void release() {
+            permits.release();
+        }
+    }
+}
@@ -24,7 +24,7 @@ public class DomainwatchController {
     /**
      * 즉시 점검을 트리거하는 POST 엔드포인트
      *
-     * @return 각 타깃의 점검 결과 리스트(JSON)
+     * @return 상위 점검 결과 리스트(JSON, 만료 임박 K건 + 실패 K건 / 전체는 /api/results/full)
      */
     @Operation(summary = "도메인 즉시 점검 실행", description = "설정된 모든 타깃의 TLD 인증서 만료 상태를 즉시 점검합니다.")
     @PostMapping("/check")
@@ -0,0 +1,105 @@
+package com.certwatch.web;
+
+import com.certwatch.entity.CheckDTO;
+import com.certwatch.service.ResultStoreService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 최근 점검 결과 조회 API 입니다.
+ * - /api/results GET : 점검을 새로 실행하지 않고, 마지막 결과(재기동 시 스냅샷 복원분 포함)를 JSON 배열로 스트리밍합니다.
+ * - /api/results/full GET : 같은 결과를 NDJSON 으로 스트리밍합니다. (디스크 스필분 포함)
+ */
+@Tag(name = "CertWatch", description = "인증서 점검 관련 API")
+@RestController
+@RequestMapping("/api")
+public class ResultController {
+
+    @Autowired
+    private ResultStoreService resultStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 최근 점검 결과 조회
+     * - 보관소(메모리/디스크)에서 정렬 순서대로 읽으며 JSON 배열로 스트리밍합니다. (전체 목록을 메모리에 만들지 않음)
+     * @param type 점검 타입 (SSL or Domain)
+     * @return 만료 임박 순으로 정렬된 최근 결과 리스트(JSON)
+     */
+    @Operation(summary = "최근 점검 결과 조회", description = "마지막 점검 결과를 점검 실행 없이 즉시 반환합니다.")
+    @GetMapping("/results")
+    public ResponseEntity<StreamingResponseBody> latestResults(@RequestParam(name = "type", defaultValue = "SSL") String type) {
+        StreamingResponseBody body = out -> {
+            Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            boolean[] first = {true};
+            w.write('[');
+            resultStore.forEachLatest(type, r -> {
+                if (!first[0]) write(w, ",");
+                first[0] = false;
+                write(w, toJson(r));
+            });
+            w.write(']');
+            w.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * 전체 정렬 결과 스트리밍
+     * - 응답 전체를 메모리에 만들지 않고 한 줄(JSON 1건)씩 씁니다.
+     * - 읽는 동안 다음 실행 결과로 교체되어도 이 응답은 읽기 시작한 시점의 결과를 끝까지 보냅니다.
+     * @param type 점검 타입 (SSL or Domain)
+     * @return 만료 임박 순 NDJSON (아직 결과가 없으면 404)
+     */
+    @Operation(summary = "전체 정렬 결과 스트리밍", description = "최근 결과 전체를 만료 임박 순 NDJSON 으로 반환합니다.")
+    @GetMapping(value = "/results/full", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> fullResults(@RequestParam(name = "type", defaultValue = "SSL") String type) {
+        long total = resultStore.count(type);
+        if (total == 0 && !resultStore.lastRuns().containsKey(type)) return ResponseEntity.notFound().build();
+
+        StreamingResponseBody body = out -> {
+            Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            resultStore.forEachLatest(type, r -> write(w, toJson(r) + "\n"));
+            w.flush();
+        };
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(total))
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    private String toJson(CheckDTO r) {
+        try {
+            return objectMapper.writeValueAsString(r);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(Writer w, String s) {
+        try {
+            w.write(s);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
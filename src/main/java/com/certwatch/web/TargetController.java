@@ -0,0 +1,60 @@
+package com.certwatch.web;
+
+import com.certwatch.entity.TargetImportResultDTO;
+import com.certwatch.service.TargetRegistryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 점검 대상(타깃) 관리 API 입니다.
+ * - /api/targets/import POST : NDJSON/CSV 바디를 스트리밍으로 읽어 활성 타깃 셋에 upsert 합니다.
+ */
+@Tag(name = "CertWatch", description = "인증서 점검 관련 API")
+@RestController
+@RequestMapping("/api/targets")
+public class TargetController {
+
+    @Autowired
+    private TargetRegistryService targetRegistry;
+
+    /**
+     * 대량 타깃 임포트 엔드포인트
+     * - Content-Type: application/x-ndjson → 한 줄에 {"host":"a.com","port":443} 또는 {"target":"a.com:8443"}
+     * - Content-Type: text/csv, text/plain → 한 줄에 host[,port] 또는 host:port (첫 줄 host 헤더 허용)
+     * @return 라인별 오류를 포함한 처리 결과(JSON)
+     */
+    @Operation(summary = "타깃 대량 임포트", description = "NDJSON/CSV 타깃 목록을 스트리밍으로 검증하여 활성 타깃 셋에 원자적으로 반영합니다.")
+    @PostMapping("/import")
+    public ResponseEntity<TargetImportResultDTO> importTargets(
+            HttpServletRequest request,
+            @RequestParam(name = "format", required = false) String format,
+            @RequestParam(name = "replace", defaultValue = "false") boolean replace,
+            @RequestParam(name = "strict", defaultValue = "false") boolean strict) throws IOException {
+
+        // format 파라미터가 없으면 Content-Type 으로 판별
+        String fmt = format != null ? format : request.getContentType();
+
+        // 요청 바디를 라인 단위로 소비 (전체를 버퍼링하지 않음)
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            TargetImportResultDTO result = targetRegistry.importTargets(reader, fmt, replace, strict);
+            // strict 모드에서 반영이 거부되면 422, 그 외에는 200 + 라인별 오류
+            return ResponseEntity.status(result.applied ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY).body(result);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getMessage());
+        }
+    }
+}
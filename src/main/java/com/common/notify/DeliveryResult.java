@@ -0,0 +1,43 @@
+package com.common.notify;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * 알림 채널의 전송 결과입니다.
+ * - OK    : 전송 완료
+ * - RETRY : 일시적 실패 (retryAfter 가 있으면 그 시간 이후 재시도, 없으면 지수 백오프)
+ * - FAIL  : 재시도해도 소용없는 실패 (바로 dead-letter)
+ */
+@Getter
+@ToString
+public class DeliveryResult {
+
+    public enum Status { OK, RETRY, FAIL }
+
+    private final Status status;
+    /** 서버가 지정한 재시도 대기 시간 (nullable) */
+    private final Duration retryAfter;
+    /** 실패 사유 */
+    private final String reason;
+
+    private DeliveryResult(Status status, Duration retryAfter, String reason) {
+        this.status = status;
+        this.retryAfter = retryAfter;
+        this.reason = reason;
+    }
+
+    public static DeliveryResult ok() {
+        return new DeliveryResult(Status.OK, null, null);
+    }
+
+    public static DeliveryResult retry(Duration retryAfter, String reason) {
+        return new DeliveryResult(Status.RETRY, retryAfter, reason);
+    }
+
+    public static DeliveryResult fail(String reason) {
+        return new DeliveryResult(Status.FAIL, null, reason);
+    }
+}
@@ -0,0 +1,24 @@
+package com.common.notify;
+
+import com.certwatch.entity.CheckDTO;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 알림 채널로 보낼 메시지 1건입니다.
+ * - text  : 사람이 읽는 본문 (텔레그램 HTML 파싱 모드 기준)
+ * - check : 원본 점검 결과 (웹훅 등 구조화된 채널용, 없을 수 있음)
+ */
+@Getter
+@ToString
+public class Notification {
+    /** 메시지 본문 */
+    private final String text;
+    /** 원본 점검 결과 (nullable) */
+    private final CheckDTO check;
+
+    public Notification(String text, CheckDTO check) {
+        this.text = text;
+        this.check = check;
+    }
+}
@@ -0,0 +1,20 @@
+package com.common.notify;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 알림 채널 SPI 입니다.
+ * - 빈(@Component)으로 등록된 구현체는 NotificationService 가 자동으로 채널로 사용합니다.
+ * - send 는 호출 스레드를 막지 않아야 합니다. (HttpClient.sendAsync 등 비동기 I/O 사용)
+ */
+public interface Notifier {
+
+    /** 채널 이름 (로그/dead-letter 기록용) */
+    String name();
+
+    /** 설정이 갖춰져 사용 가능한지 여부 */
+    boolean isEnabled();
+
+    /** 메시지 1건을 비동기로 전송합니다. (네트워크 예외는 future 의 예외로 전달하면 재시도 대상) */
+    CompletableFuture<DeliveryResult> send(Notification notification);
+}
@@ -0,0 +1,29 @@
+package com.common.notify;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/** HTTP Retry-After 헤더(초 또는 HTTP-date) 파서 */
+final class RetryAfter {
+
+    private RetryAfter() {
+    }
+
+    /** Retry-After 헤더를 대기 시간으로 변환 (없거나 해석 불가면 null) */
+    static Duration parse(HttpResponse<?> resp) {
+        String v = resp.headers().firstValue("Retry-After").orElse(null);
+        if (v == null || v.isBlank()) return null;
+        try {
+            return Duration.ofSeconds(Long.parseLong(v.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                Duration d = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(v.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return d.isNegative() ? Duration.ZERO : d;
+            } catch (Exception ignored) {
+                return null;
+            }
+        }
+    }
+}
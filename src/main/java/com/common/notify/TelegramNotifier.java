@@ -0,0 +1,99 @@
+package com.common.notify;
+
+import com.certwatch.config.CertwatchProperties;
+import com.common.service.CommonService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 텔레그램 Bot API(sendMessage) 알림 채널입니다.
+ * - 429 응답의 parameters.retry_after(초)를 그대로 재시도 대기 시간으로 돌려줍니다.
+ */
+@Component
+public class TelegramNotifier implements Notifier {
+
+    /** 구성 속성 주입 (application.properties 바인딩된 값) */
+    @Autowired
+    private CertwatchProperties props;
+
+    @Autowired
+    private CommonService commonService;
+
+    /** 공유 HttpClient (HttpClientConfig) */
+    @Autowired
+    private HttpClient notifyHttpClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public String name() {
+        return "telegram";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        // 토큰/챗ID가 모두 존재할 때만
+        return props.getTelegram() != null
+                && commonService.stringNullCheck(props.getTelegram().getToken())
+                && commonService.stringNullCheck(props.getTelegram().getChatId());
+    }
+
+    @Override
+    public CompletableFuture<DeliveryResult> send(Notification notification) {
+        CertwatchProperties.Telegram tg = props.getTelegram();
+
+        // URL-encoded form 바디 구성
+        String body = "chat_id=" + URLEncoder.encode(tg.getChatId(), StandardCharsets.UTF_8)
+                + "&text=" + URLEncoder.encode(notification.getText(), StandardCharsets.UTF_8)
+                + "&parse_mode=HTML&disable_web_page_preview=true";
+
+        // HTTP POST 요청 구성
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(tg.getApiBaseUrl() + "/bot" + tg.getToken() + "/sendMessage"))
+                .timeout(Duration.ofSeconds(props.getNotify().getRequestTimeoutSeconds()))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        // 비동기 전송 후 응답 코드/바디로 결과 분류
+        return notifyHttpClient.sendAsync(req, HttpResponse.BodyHandlers.ofString())
+                .thenApply(this::classify);
+    }
+
+    /** 응답 분류 : 2xx → OK, 429/5xx → RETRY, 그 외(잘못된 토큰/HTML 등) → FAIL */
+    private DeliveryResult classify(HttpResponse<String> resp) {
+        int status = resp.statusCode();
+        if (status / 100 == 2) return DeliveryResult.ok();
+
+        JsonNode json = null;
+        try {
+            json = objectMapper.readTree(resp.body());
+        } catch (Exception ignored) {
+            // 바디가 JSON 이 아니면 상태 코드만으로 판단
+        }
+        String description = json != null && json.hasNonNull("description")
+                ? json.get("description").asText() : "HTTP " + status;
+
+        if (status == 429) {
+            // {"ok":false,"error_code":429,"parameters":{"retry_after":N}}
+            JsonNode retryAfter = json == null ? null : json.path("parameters").get("retry_after");
+            Duration after = retryAfter != null && retryAfter.canConvertToLong()
+                    ? Duration.ofSeconds(retryAfter.asLong()) : RetryAfter.parse(resp);
+            return DeliveryResult.retry(after, description);
+        }
+        if (status >= 500) return DeliveryResult.retry(RetryAfter.parse(resp), description);
+        return DeliveryResult.fail(description);
+    }
+}
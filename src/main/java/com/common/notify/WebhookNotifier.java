@@ -0,0 +1,79 @@
+package com.common.notify;
+
+import com.certwatch.config.CertwatchProperties;
+import com.common.service.CommonService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 범용 웹훅 알림 채널입니다.
+ * - certwatch.webhook.url 로 {"text": ..., "check": {...}} JSON 을 POST 합니다.
+ * - 429/503 의 Retry-After 헤더를 재시도 대기 시간으로 사용합니다.
+ */
+@Component
+public class WebhookNotifier implements Notifier {
+
+    /** 구성 속성 주입 (application.properties 바인딩된 값) */
+    @Autowired
+    private CertwatchProperties props;
+
+    @Autowired
+    private CommonService commonService;
+
+    /** 공유 HttpClient (HttpClientConfig) */
+    @Autowired
+    private HttpClient notifyHttpClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return props.getWebhook() != null && commonService.stringNullCheck(props.getWebhook().getUrl());
+    }
+
+    @Override
+    public CompletableFuture<DeliveryResult> send(Notification notification) {
+        // JSON 바디 구성
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("text", notification.getText());
+        payload.put("check", notification.getCheck());
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.completedFuture(DeliveryResult.fail("JSON 직렬화 실패: " + e.getOriginalMessage()));
+        }
+
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(props.getWebhook().getUrl()))
+                .timeout(Duration.ofSeconds(props.getNotify().getRequestTimeoutSeconds()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return notifyHttpClient.sendAsync(req, HttpResponse.BodyHandlers.discarding())
+                .thenApply(resp -> {
+                    int status = resp.statusCode();
+                    if (status / 100 == 2) return DeliveryResult.ok();
+                    if (status == 429 || status >= 500) return DeliveryResult.retry(RetryAfter.parse(resp), "HTTP " + status);
+                    return DeliveryResult.fail("HTTP " + status);
+                });
+    }
+}
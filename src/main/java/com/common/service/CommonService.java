@@ -1,9 +1,9 @@
 package com.common.service;
 
+import com.certwatch.aggregate.AggregateResult;
 import com.certwatch.config.CertwatchProperties;
 import com.certwatch.entity.CheckDTO;
 
-import java.net.http.HttpClient;
 import java.util.List;
 
 public interface CommonService {
@@ -18,11 +18,33 @@ public interface CommonService {
     /** "host[:port]" 문자열을 [host, port] 배열로 파싱 (포트 없으면 443) */
     String[] parseTarget(String line);
 
-    /** 텔레그램으로 간단한 텍스트 메시지를 전송합니다. */
-    void sendTelegram(HttpClient client, String token, String chatId, String text) throws Exception;
+    /**
+     * "host[:port]" 문자열을 엄격하게 파싱합니다.
+     * - 빈 줄/주석(#)은 null
+     * - 형식 오류는 사유를 담은 IllegalArgumentException
+     * - 국제화 도메인은 punycode 로 변환, IPv6 는 "[주소]:포트" 또는 포트 없는 "주소"
+     */
+    String[] parseTargetStrict(String line);
+
+    /** [host, port] 를 다시 "host:port" 로 (IPv6 는 "[주소]:포트") */
+    String formatTarget(String host, String port);
+
+    /**
+     * 호스트명에서 등록 도메인(레지스트리에 등록된 단위)을 추출합니다.
+     * - sys.ofu.co.kr → ofu.co.kr, www.example.com → example.com, a.b.example.com.au → example.com.au
+     * - 공개 접미사 목록(JDK 번들)의 ICANN 구간 기준 : 사설 접미사(github.io 등)의 하위 사이트는 상위 등록 도메인으로 묶음
+     *   (RDAP/WHOIS 가 아는 단위이고 만료일도 상위 도메인 등록을 따름)
+     * - 목록을 읽지 못하면 2글자 국가 도메인의 co/ne/or/ac/go 등 2단계 구분자만 한 단계 더 포함하는 대체 규칙
+     * - IP 주소는 그대로
+     */
+    String registrableDomain(String host);
 
     // null 체크
     boolean stringNullCheck(String obj);
 
+    /** 알림 메시지 포맷 (HTML 파싱 모드) */
     String formatTelegram(CheckDTO r);
+
+    /** 상위 K 밖이라 개별 알림이 나가지 않은 알림 대상 요약 메시지 (HTML 파싱 모드) */
+    String formatOverflow(AggregateResult agg);
 }
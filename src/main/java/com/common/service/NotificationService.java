@@ -0,0 +1,24 @@
+package com.common.service;
+
+import com.certwatch.entity.CheckDTO;
+import com.common.notify.Notification;
+
+/**
+ * 알림 발송 서비스입니다.
+ * - 점검 스레드는 메시지를 대기열에 넣기만 하고, 실제 전송은 채널별 디스패처가 비동기로 처리합니다.
+ * - 재시도(retry_after / 지수 백오프)를 거쳐도 실패한 메시지는 dead-letter 파일에 남깁니다.
+ */
+public interface NotificationService {
+
+    /** 점검 결과를 알림 메시지로 만들어 활성화된 모든 채널에 발송 예약합니다. */
+    void notify(CheckDTO r);
+
+    /**
+     * 메시지를 활성화된 모든 채널에 발송 예약합니다.
+     * @return 모든 채널의 대기열에 들어갔으면 true (가득 차서 dead-letter 로 빠진 채널이 있으면 false)
+     */
+    boolean enqueue(Notification notification);
+
+    /** 활성화된 채널이 하나라도 있는지 */
+    boolean hasEnabledChannel();
+}
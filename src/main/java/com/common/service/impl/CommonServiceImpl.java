@@ -1,5 +1,6 @@
 package com.common.service.impl;
 
+import com.certwatch.aggregate.AggregateResult;
 import com.certwatch.config.CertwatchProperties;
 import com.certwatch.entity.CheckDTO;
 import com.common.service.CommonService;
@@ -8,18 +9,33 @@ import org.springframework.stereotype.Service;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.net.IDN;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Service("CommonService")
 public class CommonServiceImpl implements CommonService {
 
+    /** 호스트명/IPv4 에 허용되는 문자 (스킴, 경로, 공백 등은 거부) */
+    private static final Pattern HOST_PATTERN = Pattern.compile("[A-Za-z0-9._-]+");
+
+    /** IPv6 리터럴에 허용되는 문자 (IPv4 매핑 표기, %zone 포함) */
+    private static final Pattern IPV6_PATTERN = Pattern.compile("[0-9A-Fa-f:.]+(%[0-9A-Za-z_.-]+)?");
+
+    /** 공개 접미사 목록을 읽지 못했을 때의 대체 규칙 : 국가 도메인(2글자) 아래에서 등록 단위가 한 단계 더 내려가는 2단계 레이블 */
+    private static final Set<String> SECOND_LEVEL_LABELS = Set.of(
+            "co", "ne", "or", "re", "pe", "go", "ac", "hs", "ms", "es", "sc", "kg", "mil",
+            "com", "net", "org", "edu", "gov", "ltd", "plc", "ad", "ed", "gr", "lg");
+
     /**
      * 설정으로부터 타깃 목록을 읽어옵니다.
      * - certwatch.targets : 쉼표 목록
@@ -58,37 +74,117 @@ public class CommonServiceImpl implements CommonService {
 
     /** "host[:port]" 문자열을 [host, port] 배열로 파싱 (포트 없으면 443) */
     public String[] parseTarget(String line) {
+        try {
+            return parseTargetStrict(line);                       // 엄격 파싱 재사용
+        } catch (IllegalArgumentException e) {
+            return null;                                          // 형식 오류는 무시(기존 동작)
+        }
+    }
+
+    /**
+     * "host[:port]" 문자열을 엄격하게 파싱 (형식 오류는 사유와 함께 예외)
+     * - 국제화 도메인(IDN)은 ASCII(punycode) 로 변환해 반환 (예: 한글.kr → xn--bj0bj06e.kr)
+     * - IPv6 는 "[주소]:포트" 또는 포트 없는 "주소" 표기 허용
+     */
+    public String[] parseTargetStrict(String line) {
+        if (line == null) return null;                            // null 방어
         String s = line.trim();                                   // 공백 제거
         if (s.isEmpty() || s.startsWith("#")) return null;        // 빈 줄/주석 무시
+
+        // 1) IPv6 ("[::1]:8443" 또는 포트 없는 "::1")
+        if (s.startsWith("[")) {
+            int end = s.indexOf(']');
+            if (end < 0) throw new IllegalArgumentException("IPv6 주소의 ']' 가 없습니다: " + s);
+            String host = s.substring(1, end).trim();
+            String rest = s.substring(end + 1).trim();
+            String port = "443";
+            if (!rest.isEmpty()) {
+                if (!rest.startsWith(":")) throw new IllegalArgumentException("잘못된 타깃 형식: " + s);
+                port = rest.substring(1).trim();
+            }
+            if (!isIpv6Literal(host)) throw new IllegalArgumentException("잘못된 IPv6 주소: " + host);
+            return new String[]{host, checkPort(port)};
+        }
+        if (s.indexOf(':') != s.lastIndexOf(':')) {               // 콜론 2개 이상 → 대괄호 없는 IPv6
+            if (!isIpv6Literal(s)) {
+                throw new IllegalArgumentException("잘못된 IPv6 주소 (포트는 [주소]:포트 형식): " + s);
+            }
+            return new String[]{s, "443"};
+        }
+
+        // 2) 호스트명/IPv4
+        String host = s;
+        String port = "443";                                      // 기본 포트 443
         if (s.contains(":")) {                                    // 포트 표기 있는 경우
             String[] parts = s.split(":", 2);                     // 앞에서 1번만 분리
-            try {
-                Integer.parseInt(parts[1]);                       // 포트 유효성 검사
-                return new String[]{parts[0].trim(), parts[1].trim()};
-            } catch (NumberFormatException e) {
-                return null;                                      // 잘못된 포트면 무시
-            }
-        } else {
-            return new String[]{s, "443"};                        // 기본 포트 443
+            host = parts[0].trim();
+            port = parts[1].trim();
+        }
+        if (host.isEmpty()) {
+            throw new IllegalArgumentException("호스트가 비어 있습니다.");
+        }
+        try {
+            host = IDN.toASCII(host, IDN.ALLOW_UNASSIGNED);       // 국제화 도메인 → punycode
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 호스트: " + host);
+        }
+        if (host.length() > 253 || !HOST_PATTERN.matcher(host).matches()) {
+            throw new IllegalArgumentException("잘못된 호스트: " + host);
+        }
+        return new String[]{host, checkPort(port)};
+    }
+
+    /** 포트 숫자/범위 검사 ("0443" 같은 표기는 정규화) */
+    private static String checkPort(String port) {
+        int p;
+        try {
+            p = Integer.parseInt(port);                           // 포트 숫자 검사
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 포트: " + port);
+        }
+        if (p < 1 || p > 65535) {                                 // 포트 범위 검사
+            throw new IllegalArgumentException("포트 범위 초과: " + p);
+        }
+        return String.valueOf(p);
+    }
+
+    /** IPv6 리터럴 여부 (문자 검사를 통과한 경우에만 파싱하므로 DNS 조회는 일어나지 않음) */
+    private static boolean isIpv6Literal(String host) {
+        if (host.isEmpty() || host.indexOf(':') < 0 || !IPV6_PATTERN.matcher(host).matches()) return false;
+        try {
+            return InetAddress.getByName(host) instanceof Inet6Address;
+        } catch (UnknownHostException e) {
+            return false;
         }
     }
 
-    /** 텔레그램으로 간단한 텍스트 메시지를 전송합니다. */
-    public void sendTelegram(HttpClient client, String token, String chatId, String text) throws Exception {
-        // URL-encoded form 바디 구성
-        String body = "chat_id=" + java.net.URLEncoder.encode(chatId, java.nio.charset.StandardCharsets.UTF_8)
-                + "&text=" + java.net.URLEncoder.encode(text, java.nio.charset.StandardCharsets.UTF_8)
-                + "&parse_mode=HTML&disable_web_page_preview=true";
-
-        // HTTP POST 요청 구성
-        HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create("https://api.telegram.org/bot" + token + "/sendMessage"))
-                .header("Content-Type", "application/x-www-form-urlencoded")
-                .POST(HttpRequest.BodyPublishers.ofString(body))
-                .build();
-
-        // 요청 전송 (응답 바디는 사용하지 않으므로 버림)
-        client.send(req, HttpResponse.BodyHandlers.ofString());
+    @Override
+    public String formatTarget(String host, String port) {
+        // IPv6 는 포트와 구분되도록 대괄호로 감쌈
+        return (host.indexOf(':') >= 0 && !host.startsWith("[") ? "[" + host + "]" : host) + ":" + port;
+    }
+
+    @Override
+    public String registrableDomain(String host) {
+        if (host == null) return null;
+        String h = host.trim().toLowerCase(Locale.ROOT);
+        if (h.endsWith(".")) h = h.substring(0, h.length() - 1);
+        // IP 주소는 그대로 (등록 도메인 없음)
+        if (h.indexOf(':') >= 0 || h.matches("[0-9.]+")) return h;
+
+        // 1) 공개 접미사 목록 (ICANN 구간, JDK 번들)
+        PublicSuffixList psl = PublicSuffixList.jdk();
+        if (psl.available()) return psl.registrableDomain(h);
+
+        // 2) 목록이 없으면 대체 규칙 : 마지막 두 레이블 (example.com)
+        String[] labels = h.split("\\.");
+        if (labels.length <= 2) return h;
+        int keep = 2;
+        //    국가 도메인의 2단계 구분자면 세 레이블 (ofu.co.kr)
+        String tld = labels[labels.length - 1];
+        String second = labels[labels.length - 2];
+        if (tld.length() == 2 && SECOND_LEVEL_LABELS.contains(second)) keep = 3;
+        return String.join(".", Arrays.copyOfRange(labels, labels.length - keep, labels.length));
     }
 
     //스트링 널 체크
@@ -107,14 +203,27 @@ public class CommonServiceImpl implements CommonService {
         String result = "";
         if (r.ok) {
             result = "🔔 <b>"+r.type+" 만료 임박</b>\n"
-                    + "• 대상: <code>" + r.host + "</code>\n"
+                    + "• 대상: <code>" + escapeHtml(r.host) + "</code>\n"
                     + "• 남은 일수: <b>" + r.daysLeft + "일</b>\n"
                     + "• 만료일(한국시간): <code>" + fmt.format(r.notAfter) + "</code>";
         }  else {
             return "⚠️ <b>SSL 확인 실패</b>\n"
-                    + "• 대상: <code>" + r.host + "</code>\n"
-                    + "• 오류: <code>" + r.error + "</code>";
+                    + "• 대상: <code>" + escapeHtml(r.host) + "</code>\n"
+                    + "• 오류: <code>" + escapeHtml(r.error) + "</code>";
         }
         return result;
     }
+
+    @Override
+    public String formatOverflow(AggregateResult agg) {
+        return "📋 <b>" + escapeHtml(agg.getType()) + " 알림 대상 추가 " + agg.getAlertOverflow() + "건</b>\n"
+                + "• 전체 알림 대상: <b>" + agg.getAlerting() + "건</b> (실패 " + agg.getFailed() + "건 포함)\n"
+                + "• 전체 결과: <code>/api/results/full?type=" + escapeHtml(agg.getType()) + "</code>";
+    }
+
+    /** HTML 파싱 모드에서 깨지지 않도록 특수문자 이스케이프 (텔레그램은 잘못된 태그가 있으면 400 으로 거부) */
+    private static String escapeHtml(String s) {
+        if (s == null) return "";
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
 }
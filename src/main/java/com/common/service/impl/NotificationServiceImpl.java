@@ -0,0 +1,331 @@
+package com.common.service.impl;
+
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.CheckDTO;
+import com.certwatch.jfr.NotifySendEvent;
+import com.certwatch.jfr.ThreadKind;
+import com.common.notify.DeliveryResult;
+import com.common.notify.Notification;
+import com.common.notify.Notifier;
+import com.common.service.CommonService;
+import com.common.service.NotificationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+@Service("NotificationService")
+public class NotificationServiceImpl implements NotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationServiceImpl.class);
+
+    /** 구성 속성 주입 (application.properties 바인딩된 값) */
+    @Autowired
+    private CertwatchProperties props;
+
+    @Autowired
+    private CommonService commonService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** 빈으로 등록된 모든 알림 채널 (Notifier SPI 구현체) */
+    @Autowired
+    private List<Notifier> notifiers;
+
+    /** 채널별 발송 레인 */
+    private final List<Lane> lanes = new ArrayList<>();
+
+    /** 재시도 예약용 스케줄러 */
+    private ScheduledExecutorService retryScheduler;
+
+    /** dead-letter 파일 쓰기 직렬화용 락 */
+    private final Object deadLetterLock = new Object();
+
+    /** 종료 중 여부 (새 메시지 거부) */
+    private volatile boolean closed;
+
+    @PostConstruct
+    public void init() {
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(daemon("certwatch-notify-retry"));
+        for (Notifier n : notifiers) {
+            Lane lane = new Lane(n);
+            lanes.add(lane);
+            lane.thread.start();
+        }
+    }
+
+    @Override
+    public void notify(CheckDTO r) {
+        enqueue(new Notification(commonService.formatTelegram(r), r));
+    }
+
+    @Override
+    public boolean enqueue(Notification notification) {
+        boolean all = true;
+        for (Lane lane : lanes) {
+            if (!lane.notifier.isEnabled()) continue;
+            all &= lane.offer(new Delivery(notification), props.getNotify().getOfferTimeoutMs());
+        }
+        return all;
+    }
+
+    @Override
+    public boolean hasEnabledChannel() {
+        for (Lane lane : lanes) {
+            if (lane.notifier.isEnabled()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 종료 시 대기 중인 메시지를 잃지 않도록 dead-letter 로 옮깁니다.
+     * 1) 새 메시지 거부 + 디스패처 정지
+     * 2) 전송 중인 요청은 shutdownTimeoutMs 까지 완료를 기다림 (완료 후 재시도가 필요하면 바로 dead-letter)
+     * 3) 재시도 대기 중, 시간 안에 끝나지 않은 전송 중, 대기열에 남은 메시지를 dead-letter
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        for (Lane lane : lanes) lane.thread.interrupt();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(props.getNotify().getShutdownTimeoutMs());
+        try {
+            for (Lane lane : lanes) {
+                lane.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+                lane.awaitInFlight(deadline);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        retryScheduler.shutdownNow();
+        for (Lane lane : lanes) {
+            for (Delivery d : lane.pendingRetries) {
+                if (lane.pendingRetries.remove(d)) deadLetter(lane.notifier, d, "종료 시 재시도 대기 중");
+            }
+            for (Delivery d : lane.sending) {
+                if (lane.sending.remove(d)) deadLetter(lane.notifier, d, "종료 시 전송 완료 확인 못 함");
+            }
+            List<Delivery> rest = new ArrayList<>();
+            lane.queue.drainTo(rest);
+            for (Delivery d : rest) deadLetter(lane.notifier, d, "종료 시 미전송");
+        }
+    }
+
+    /** 메시지 1건의 채널별 전송 상태 */
+    private static final class Delivery {
+        final Notification notification;
+        int attempts;
+        /** 마지막으로 대기열에 넣은 시각(ns, JFR 대기 시간 기록용) */
+        volatile long enqueuedAt;
+
+        Delivery(Notification notification) {
+            this.notification = notification;
+        }
+    }
+
+    /**
+     * 채널 1개의 발송 레인.
+     * - 전용 대기열 + 디스패처 스레드 (채널끼리 서로의 지연/대기에 영향을 주지 않음)
+     * - 동시 전송 수(maxInFlight), 전송 간 최소 간격(minIntervalMs), 429 시 채널 일시 정지
+     */
+    private final class Lane implements Runnable {
+        final Notifier notifier;
+        final BlockingQueue<Delivery> queue = new ArrayBlockingQueue<>(Math.max(1, props.getNotify().getQueueCapacity()));
+        final int maxInFlight = Math.max(1, props.getNotify().getMaxInFlight());
+        final Semaphore inFlight = new Semaphore(maxInFlight);
+        /** 전송 중인 메시지 (응답 전) */
+        final Set<Delivery> sending = ConcurrentHashMap.newKeySet();
+        /** 재시도 예약되어 대기 중인 메시지 */
+        final Set<Delivery> pendingRetries = ConcurrentHashMap.newKeySet();
+        final Thread thread;
+        /** 다음 전송이 허용되는 시각(ns, nanoTime 기준) */
+        volatile long notBefore = System.nanoTime();
+
+        Lane(Notifier notifier) {
+            this.notifier = notifier;
+            this.thread = daemon("certwatch-notify-" + notifier.name()).newThread(this);
+        }
+
+        /** 대기열에 넣기 (가득 차면 timeoutMs 까지 기다리고, 그래도 안 되면 dead-letter) */
+        boolean offer(Delivery d, long timeoutMs) {
+            try {
+                d.enqueuedAt = System.nanoTime();
+                if (!closed && queue.offer(d, timeoutMs, TimeUnit.MILLISECONDS)) return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            deadLetter(notifier, d, closed ? "종료 중" : "대기열 가득 참");
+            return false;
+        }
+
+        /** 전송 중인 요청이 모두 끝날 때까지 deadline(nanoTime) 까지 대기 */
+        void awaitInFlight(long deadline) throws InterruptedException {
+            long waitNs = deadline - System.nanoTime();
+            if (waitNs > 0 && inFlight.tryAcquire(maxInFlight, waitNs, TimeUnit.NANOSECONDS)) inFlight.release(maxInFlight);
+        }
+
+        @Override
+        public void run() {
+            while (!closed) {
+                Delivery d = null;
+                boolean permit = false;
+                try {
+                    d = queue.take();
+                    NotifySendEvent ev = new NotifySendEvent();
+                    ev.begin();
+                    long taken = System.nanoTime();
+                    ev.queueWait = taken - d.enqueuedAt;
+
+                    // 동시 전송 수 제한 후, 전송 간격/일시 정지 시각까지 대기 (이 채널만 멈춤)
+                    inFlight.acquire();
+                    permit = true;
+                    long waitNs;
+                    while ((waitNs = notBefore - System.nanoTime()) > 0) TimeUnit.NANOSECONDS.sleep(waitNs);
+                    notBefore = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(props.getNotify().getMinIntervalMs());
+
+                    d.attempts++;
+                    sending.add(d);
+                    Delivery sent = d;
+                    d = null;                                     // 이후로는 전송 완료 콜백이 책임
+                    long sendStart = System.nanoTime();
+                    ev.pacingWait = sendStart - taken;
+                    CompletableFuture<DeliveryResult> f;
+                    try {
+                        f = notifier.send(sent.notification);
+                    } catch (RuntimeException e) {
+                        f = CompletableFuture.failedFuture(e);
+                    }
+                    f.whenComplete((res, ex) -> {
+                        try {
+                            commitSendEvent(ev, sent, res, ex, sendStart);
+                            // 종료 대기 시간을 넘겨 이미 dead-letter 로 옮겨진 메시지는 무시
+                            if (sending.remove(sent)) handle(sent, res, ex);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (InterruptedException e) {
+                    // 꺼냈지만 아직 보내지 못한 메시지는 종료 시 dead-letter
+                    if (d != null) {
+                        if (permit) inFlight.release();
+                        deadLetter(notifier, d, "종료 시 미전송");
+                    }
+                    return;
+                }
+            }
+        }
+
+        /** 전송 시도 1회의 JFR 이벤트 기록 (레코딩 중이 아니면 아무것도 하지 않음) */
+        private void commitSendEvent(NotifySendEvent ev, Delivery d, DeliveryResult res, Throwable ex, long sendStart) {
+            ev.end();
+            if (!ev.shouldCommit()) return;
+            ev.request = System.nanoTime() - sendStart;
+            ev.channel = notifier.name();
+            ev.host = d.notification.getCheck() == null ? null : d.notification.getCheck().host;
+            ev.attempt = d.attempts;
+            ev.outcome = ex != null ? "ERROR" : res.getStatus().name();
+            ev.reason = ex != null ? ex.getClass().getSimpleName() + ": " + ex.getMessage() : res.getReason();
+            ev.virtualThread = ThreadKind.isVirtual();
+            ev.commit();
+        }
+
+        /** 전송 결과 처리 : 성공 / 재시도 예약 / dead-letter */
+        private void handle(Delivery d, DeliveryResult res, Throwable ex) {
+            if (ex == null && res.getStatus() == DeliveryResult.Status.OK) return;
+            String reason = ex != null ? ex.getClass().getSimpleName() + ": " + ex.getMessage() : res.getReason();
+            if (ex == null && res.getStatus() == DeliveryResult.Status.FAIL) {
+                deadLetter(notifier, d, reason);
+                return;
+            }
+            if (d.attempts >= props.getNotify().getMaxAttempts()) {
+                deadLetter(notifier, d, "재시도 초과: " + reason);
+                return;
+            }
+            if (closed) {
+                deadLetter(notifier, d, "종료 중 재시도 불가: " + reason);
+                return;
+            }
+
+            Duration delay = ex == null ? res.getRetryAfter() : null;
+            if (delay != null) {
+                // 서버가 지정한 대기 시간 동안은 이 채널 전체를 멈춤 (다른 메시지도 같은 제한에 걸리므로)
+                notBefore = Math.max(notBefore, System.nanoTime() + delay.toNanos());
+            } else {
+                delay = backoff(d.attempts);
+            }
+            // 종료 시 dead-letter 로 옮길 수 있도록 예약분을 추적 (예약 실행과 종료 중 한쪽만 처리)
+            pendingRetries.add(d);
+            try {
+                retryScheduler.schedule(() -> {
+                    if (pendingRetries.remove(d)) offer(d, 0);
+                }, delay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                if (pendingRetries.remove(d)) deadLetter(notifier, d, "재시도 예약 실패: " + reason);
+            }
+        }
+    }
+
+    /** 지수 백오프 (initialBackoffMs * 2^(n-1), 최대 maxBackoffMs) */
+    private Duration backoff(int attempts) {
+        long base = Math.max(1, props.getNotify().getInitialBackoffMs());
+        long ms = base << Math.min(20, Math.max(0, attempts - 1));
+        return Duration.ofMillis(Math.min(ms, props.getNotify().getMaxBackoffMs()));
+    }
+
+    /** 끝내 보내지 못한 메시지를 한 줄 JSON 으로 dead-letter 파일에 추가 */
+    private void deadLetter(Notifier notifier, Delivery d, String reason) {
+        log.warn("알림 전송 실패 → dead-letter ({}): {}", notifier.name(), reason);
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("at", Instant.now().toString());
+        line.put("channel", notifier.name());
+        line.put("attempts", d.attempts);
+        line.put("reason", reason);
+        line.put("text", d.notification.getText());
+        line.put("check", d.notification.getCheck());
+        synchronized (deadLetterLock) {
+            try (BufferedWriter w = Files.newBufferedWriter(Paths.get(props.getNotify().getDeadLetterPath()), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                w.write(objectMapper.writeValueAsString(line));
+                w.newLine();
+            } catch (IOException e) {
+                log.error("dead-letter 기록 실패: {}", e.toString());
+            }
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
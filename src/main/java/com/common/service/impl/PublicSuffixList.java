@@ -0,0 +1,130 @@
+package com.common.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.IDN;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 공개 접미사 목록(Public Suffix List)으로 등록 도메인을 계산합니다.
+ * - JDK 가 번들하는 목록(java.home/lib/security/public_suffix_list.dat)을 처음 사용할 때 한 번 읽습니다.
+ *   (TLD 별 zip 항목, 각 줄 앞 1바이트가 구분 : 0 = ICANN, 1 = 사설)
+ * - ICANN 구간 규칙만 사용합니다. 레지스트리(RDAP/WHOIS)가 아는 등록 단위이자 만료일이 있는 단위이기 때문입니다.
+ *   사설 구간(github.io, blogspot.com 등)의 하위 사이트는 상위 도메인 등록을 공유하므로 상위 도메인으로 묶습니다.
+ * - 목록을 읽을 수 없으면 available() 이 false 이고, 호출 측이 대체 규칙을 씁니다.
+ */
+final class PublicSuffixList {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicSuffixList.class);
+
+    /** 일반 규칙 ("co.kr", "kr") */
+    private final Set<String> rules = new HashSet<>();
+
+    /** 와일드카드 규칙의 상위 부분 ("*.ck" → "ck") */
+    private final Set<String> wildcards = new HashSet<>();
+
+    /** 예외 규칙 ("!www.ck" → "www.ck") */
+    private final Set<String> exceptions = new HashSet<>();
+
+    private static final class Holder {
+        static final PublicSuffixList INSTANCE = load(
+                Path.of(System.getProperty("java.home"), "lib", "security", "public_suffix_list.dat"));
+    }
+
+    private PublicSuffixList() {
+    }
+
+    /** JDK 번들 목록 (읽지 못했으면 규칙이 빈 목록) */
+    static PublicSuffixList jdk() {
+        return Holder.INSTANCE;
+    }
+
+    /** 목록 파일 읽기 (실패하면 빈 목록) */
+    static PublicSuffixList load(Path file) {
+        PublicSuffixList psl = new PublicSuffixList();
+        if (!Files.isReadable(file)) {
+            log.warn("공개 접미사 목록이 없어 대체 규칙으로 등록 도메인을 계산합니다: {}", file);
+            return psl;
+        }
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                try (InputStream in = zip.getInputStream(entry)) {
+                    for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                        // ICANN 구간만 (첫 바이트 0)
+                        if (line.length() > 1 && line.charAt(0) == 0) psl.add(line.substring(1).trim());
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("공개 접미사 목록을 읽지 못해 대체 규칙으로 등록 도메인을 계산합니다: {}", e.toString());
+            return new PublicSuffixList();
+        }
+        return psl;
+    }
+
+    /** 규칙 1개 추가 (국제화 레이블은 호스트와 같은 punycode 로) */
+    void add(String rule) {
+        if (rule.isEmpty()) return;
+        if (rule.startsWith("!")) {
+            exceptions.add(toAscii(rule.substring(1)));
+        } else if (rule.startsWith("*.")) {
+            wildcards.add(toAscii(rule.substring(2)));
+        } else {
+            rules.add(toAscii(rule));
+        }
+    }
+
+    /** 규칙을 하나라도 읽었는지 */
+    boolean available() {
+        return !rules.isEmpty();
+    }
+
+    /**
+     * 등록 도메인 (공개 접미사 + 레이블 1개)
+     * - 호스트 자체가 공개 접미사면 호스트 그대로
+     * @param host 소문자, 끝 점 제거, punycode 로 정규화된 호스트명
+     */
+    String registrableDomain(String host) {
+        String[] labels = host.split("\\.");
+        int suffix = suffixLabels(labels);
+        if (labels.length <= suffix) return host;
+        return String.join(".", Arrays.copyOfRange(labels, labels.length - suffix - 1, labels.length));
+    }
+
+    /** 가장 긴 공개 접미사의 레이블 수 (일치하는 규칙이 없으면 기본 규칙 "*" → 1) */
+    private int suffixLabels(String[] labels) {
+        for (int i = 0; i < labels.length; i++) {
+            String candidate = join(labels, i);
+            if (exceptions.contains(candidate)) return labels.length - i - 1;
+            if (rules.contains(candidate)) return labels.length - i;
+            if (i + 1 < labels.length && wildcards.contains(join(labels, i + 1))) return labels.length - i;
+        }
+        return 1;
+    }
+
+    private static String join(String[] labels, int from) {
+        return String.join(".", Arrays.copyOfRange(labels, from, labels.length));
+    }
+
+    private static String toAscii(String name) {
+        try {
+            return IDN.toASCII(name, IDN.ALLOW_UNASSIGNED).toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+    }
+}
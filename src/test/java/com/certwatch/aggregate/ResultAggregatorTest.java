@@ -0,0 +1,198 @@
+package com.certwatch.aggregate;
+
+import com.certwatch.entity.CheckDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 집계기의 외부 정렬(스필 → k-way 병합), 색인 조회, 참조 카운트/파일 정리를 작은 메모리 예산으로 검증합니다.
+ */
+class ResultAggregatorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void spilledFinishIsSortedAcrossRuns() throws IOException {
+        ResultAggregator agg = new ResultAggregator("SSL", 3, 4, dir, 30);
+        List<CheckDTO> input = sample(50, 7);
+        input.forEach(agg::accept);
+
+        AggregateResult result = agg.finish();
+
+        assertTrue(result.isSpilled());
+        assertEquals(50, result.getTotal());
+        assertEquals(input.stream().filter(r -> !r.ok).count(), result.getFailed());
+        List<CheckDTO> out = sorted(result);
+        List<CheckDTO> expected = new ArrayList<>(input);
+        expected.sort(ResultAggregator.ORDER);
+        assertEquals(keys(expected), keys(out));
+        // 상위 목록 : 만료 임박 3건 + 실패 3건
+        assertEquals(6, result.getTop().size());
+        assertEquals(keys(expected.subList(0, 3)), keys(result.getTop().subList(0, 3)));
+        // 병합 후에는 병합 파일 1개만 남음
+        assertEquals(1, spillFiles().size());
+        result.discard();
+    }
+
+    @Test
+    void sameHostIsOrderedByPort() {
+        CheckDTO a = ok("example.com", 8443, 10);
+        CheckDTO b = ok("example.com", 443, 10);
+        assertTrue(ResultAggregator.ORDER.compare(b, a) < 0);
+        assertTrue(ResultAggregator.ORDER.compare(a, b) > 0);
+        assertEquals(0, ResultAggregator.ORDER.compare(a, ok("example.com", 8443, 10)));
+    }
+
+    @Test
+    void findOnSpilledResult() throws IOException {
+        ResultAggregator agg = new ResultAggregator("SSL", 2, 4, dir, 30);
+        // 블록(64건)을 여러 개 넘도록 + 같은 호스트 다른 포트
+        List<CheckDTO> input = sample(300, 11);
+        input.forEach(agg::accept);
+        AggregateResult result = agg.finish();
+        assertTrue(result.isSpilled());
+
+        for (CheckDTO r : input) {
+            CheckDTO found = result.find(r.host.toUpperCase(), r.port);
+            assertNotNull(found, r.host + ":" + r.port);
+            assertEquals(r.host, found.host);
+            assertEquals(r.port, found.port);
+            assertEquals(r.ok, found.ok);
+            assertEquals(r.daysLeft, found.daysLeft);
+        }
+        assertNull(result.find("nope.example", 443));
+        assertNull(result.find(input.get(0).host, 1));
+        result.discard();
+    }
+
+    @Test
+    void findInMemoryResult() throws IOException {
+        ResultAggregator agg = new ResultAggregator("Domain", 2, 1000, dir, 30);
+        List<CheckDTO> input = sample(40, 3);
+        input.forEach(agg::accept);
+        AggregateResult result = agg.finish();
+
+        assertFalse(result.isSpilled());
+        assertTrue(spillFiles().isEmpty());
+        for (CheckDTO r : input) assertSame(r, result.find(r.host, r.port));
+        assertNull(result.find("nope.example", 443));
+    }
+
+    @Test
+    void discardDeletesFileAfterLastReader() throws IOException {
+        ResultAggregator agg = new ResultAggregator("SSL", 2, 4, dir, 30);
+        sample(20, 5).forEach(agg::accept);
+        AggregateResult result = agg.finish();
+        assertEquals(1, spillFiles().size());
+
+        // 읽는 중에 교체(discard)되어도 마지막 읽기가 끝날 때까지 파일 유지
+        assertTrue(result.retain());
+        result.discard();
+        result.discard();                                          // 중복 호출은 무시
+        assertEquals(1, spillFiles().size());
+        assertEquals(20, sorted(result).size());
+        result.release();
+
+        assertTrue(spillFiles().isEmpty());
+        assertFalse(result.retain());
+    }
+
+    @Test
+    void concurrentAcceptKeepsEveryResult() throws Exception {
+        ResultAggregator agg = new ResultAggregator("SSL", 5, 16, dir, 30);
+        List<CheckDTO> input = sample(2000, 13);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int from = t;
+                done.add(pool.submit(() -> {
+                    for (int i = from; i < input.size(); i += 8) agg.accept(input.get(i));
+                }));
+            }
+            for (Future<?> f : done) f.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        AggregateResult result = agg.finish();
+        assertEquals(2000, result.getTotal());
+        List<CheckDTO> expected = new ArrayList<>(input);
+        expected.sort(ResultAggregator.ORDER);
+        assertEquals(keys(expected), keys(sorted(result)));
+        result.discard();
+        assertTrue(spillFiles().isEmpty());
+    }
+
+    @Test
+    void finishedAggregatorRejectsResults() {
+        ResultAggregator agg = new ResultAggregator("SSL", 2, 4, dir, 30);
+        agg.finish();
+        assertThrows(IllegalStateException.class, () -> agg.accept(ok("a.example", 443, 1)));
+        assertThrows(IllegalStateException.class, agg::finish);
+    }
+
+    /** 성공/실패가 섞이고, 같은 호스트의 다른 포트와 같은 남은 일수가 있는 결과 */
+    static List<CheckDTO> sample(int n, long seed) {
+        Random rnd = new Random(seed);
+        List<CheckDTO> out = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String host = "h" + (i / 2) + ".example";
+            int port = i % 2 == 0 ? 443 : 8443;
+            if (rnd.nextInt(5) == 0) {
+                CheckDTO r = ok(host, port, 0);
+                r.ok = false;
+                r.error = "SocketTimeoutException: timeout";
+                out.add(r);
+            } else {
+                out.add(ok(host, port, rnd.nextInt(20)));
+            }
+        }
+        Collections.shuffle(out, rnd);
+        return out;
+    }
+
+    static CheckDTO ok(String host, int port, long daysLeft) {
+        CheckDTO r = new CheckDTO();
+        r.type = "SSL";
+        r.host = host;
+        r.port = port;
+        r.ok = true;
+        r.daysLeft = daysLeft;
+        return r;
+    }
+
+    static List<CheckDTO> sorted(AggregateResult result) throws IOException {
+        List<CheckDTO> out = new ArrayList<>();
+        result.forEachSorted(out::add);
+        return out;
+    }
+
+    static List<String> keys(List<CheckDTO> results) {
+        List<String> out = new ArrayList<>();
+        for (CheckDTO r : results) out.add(r.host + ":" + r.port + "/" + r.ok + "/" + r.daysLeft);
+        return out;
+    }
+
+    private List<Path> spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+}
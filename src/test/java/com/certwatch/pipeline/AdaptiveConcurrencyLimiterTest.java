@@ -0,0 +1,151 @@
+package com.certwatch.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLHandshakeException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+
+import static com.certwatch.pipeline.AdaptiveConcurrencyLimiter.Signal.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 적응형 동시성 제한기의 덧셈 증가 / 곱셈 감소(라운드당 1회) / 지연 기울기 / 상하한 / 결과 분류를 검증합니다.
+ * - 관측값만으로 결정되므로 시간 없이 observe 호출 순서로 재현합니다.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void slotsAreBoundedByLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.hasRoom());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release();
+        assertTrue(limiter.hasRoom());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void busySuccessIncreasesAboutOnePerRound() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20);
+        fill(limiter);
+
+        // 상한을 다 쓰는 동안 같은 지연의 성공 → 1/limit 씩 (한 라운드 ≈ +1)
+        for (int i = 0; i < 5; i++) limiter.observe(100, SUCCESS);
+        assertEquals(10, limiter.getLimit());
+        for (int i = 0; i < 7; i++) limiter.observe(100, SUCCESS);
+        assertEquals(11, limiter.getLimit());
+    }
+
+    @Test
+    void idleSuccessDoesNotInflateLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20);
+        assertTrue(limiter.tryAcquire());                          // 상한의 절반 미만만 사용
+
+        for (int i = 0; i < 200; i++) limiter.observe(100, SUCCESS);
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void limitIsClampedToMax() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(19, 1, 20);
+        fill(limiter);
+
+        for (int i = 0; i < 500; i++) limiter.observe(100, SUCCESS);
+
+        assertEquals(20, limiter.getLimit());
+        // 초기값도 [min, max] 로 보정
+        assertEquals(20, new AdaptiveConcurrencyLimiter(50, 1, 20).getLimit());
+        assertEquals(3, new AdaptiveConcurrencyLimiter(0, 3, 20).getLimit());
+        assertEquals(3, new AdaptiveConcurrencyLimiter(5, 3, 1).getLimit());
+    }
+
+    @Test
+    void congestionBacksOffOncePerRound() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20);
+
+        // 첫 라운드(상한만큼 완료)가 끝나기 전에는 줄이지 않음
+        limiter.observe(0, CONGESTION);
+        assertEquals(10, limiter.getLimit());
+        for (int i = 0; i < 8; i++) limiter.observe(0, FAILURE);
+        limiter.observe(0, CONGESTION);                            // 10번째 완료 → 10 * 0.9
+        assertEquals(9, limiter.getLimit());
+
+        // 연속된 타임아웃 폭주라도 같은 라운드 안에서는 한 번만
+        for (int i = 0; i < 5; i++) limiter.observe(0, CONGESTION);
+        assertEquals(9, limiter.getLimit());
+        for (int i = 0; i < 4; i++) limiter.observe(0, CONGESTION); // 감소 후 9건 → 9 * 0.9
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void backoffIsClampedToMin() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(3, 2, 20);
+        for (int i = 0; i < 100; i++) limiter.observe(0, CONGESTION);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void latencyRiseBeyondToleranceBacksOff() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20);
+        assertTrue(limiter.tryAcquire());
+
+        // 장기/단기 기준 지연 100ms (유휴라 증가 없음)
+        for (int i = 0; i < 10; i++) limiter.observe(100, SUCCESS);
+        assertEquals(10, limiter.getLimit());
+
+        // 단기 EWMA 가 장기의 1.5배를 넘으면 큐잉으로 보고 감소 : 100 + 0.05 * (2100 - 100) = 200 > 150
+        limiter.observe(2100, SUCCESS);
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void latencyWithinToleranceKeepsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20);
+        assertTrue(limiter.tryAcquire());
+        for (int i = 0; i < 10; i++) limiter.observe(100, SUCCESS);
+
+        // 100 + 0.05 * (1000 - 100) = 145 < 150
+        limiter.observe(1000, SUCCESS);
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void plainFailureKeepsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20);
+        fill(limiter);
+        for (int i = 0; i < 100; i++) limiter.observe(5, FAILURE);
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void timeoutsAreFoundInCauseChain() {
+        assertEquals(CONGESTION, AdaptiveConcurrencyLimiter.Signal.of(new SocketTimeoutException("connect timed out")));
+        assertEquals(CONGESTION, AdaptiveConcurrencyLimiter.Signal.of(new NoRouteToHostException()));
+
+        // 핸드셰이크 예외 안에 감싸진 읽기 타임아웃
+        SSLHandshakeException wrapped = new SSLHandshakeException("Remote host terminated the handshake");
+        wrapped.initCause(new IOException("read", new SocketTimeoutException("Read timed out")));
+        assertEquals(CONGESTION, AdaptiveConcurrencyLimiter.Signal.of(wrapped));
+
+        // 메시지에 timeout 이 있어도 타입이 아니면 혼잡 아님
+        assertEquals(FAILURE, AdaptiveConcurrencyLimiter.Signal.of(new ConnectException("Connection refused (timeout?)")));
+        assertEquals(FAILURE, AdaptiveConcurrencyLimiter.Signal.of(new SSLHandshakeException("PKIX path building failed")));
+        assertEquals(FAILURE, AdaptiveConcurrencyLimiter.Signal.of(null));
+    }
+
+    /** 상한만큼 슬롯을 모두 차지 (상한을 다 쓰는 부하 상태) */
+    private static void fill(AdaptiveConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            // 슬롯이 없을 때까지
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.certwatch.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 목적지 제한기의 IP / 서브넷 보류, 반납 시 라운드 로빈 허가, 전체 슬롯과 함께 얻기를 검증합니다.
+ */
+class DestinationLimiterTest {
+
+    /** 허가된 순서 ([이름, 허가 핸들]) */
+    private final List<String> admitted = new ArrayList<>();
+    private final List<ProbePlugin.Permit> permits = new ArrayList<>();
+
+    @Test
+    void perIpCapParksAndReleasesInOrder() throws UnknownHostException {
+        DestinationLimiter limiter = new DestinationLimiter(2, 0);
+        for (int i = 0; i < 5; i++) request(limiter, "10.0.0.1", "a" + i);
+
+        assertEquals(List.of("a0", "a1"), admitted);
+        assertEquals(3, limiter.parkedCount());
+
+        close("a0");
+        assertEquals(List.of("a0", "a1", "a2"), admitted);
+        assertEquals(2, limiter.parkedCount());
+
+        // 같은 핸들을 두 번 닫아도 한 번만 반납
+        close("a0");
+        assertEquals(3, admitted.size());
+
+        close("a1");
+        close("a2");
+        assertEquals(List.of("a0", "a1", "a2", "a3", "a4"), admitted);
+        assertEquals(0, limiter.parkedCount());
+    }
+
+    @Test
+    void otherIpsAreNotBlockedByHotIp() throws UnknownHostException {
+        DestinationLimiter limiter = new DestinationLimiter(1, 0);
+        for (int i = 0; i < 4; i++) request(limiter, "10.0.0.1", "hot" + i);
+        request(limiter, "10.0.1.7", "cold0");
+        request(limiter, "10.0.2.7", "cold1");
+
+        assertEquals(List.of("hot0", "cold0", "cold1"), admitted);
+        assertEquals(3, limiter.parkedCount());
+    }
+
+    @Test
+    void subnetCapRoundRobinsAcrossIps() throws UnknownHostException {
+        // /24 당 2, IP 무제한 : A 가 먼저 몰려도 반납될 때마다 A → B → C 를 번갈아 허가
+        DestinationLimiter limiter = new DestinationLimiter(0, 2);
+        for (int i = 0; i < 5; i++) request(limiter, "192.0.2.1", "A" + i);
+        for (int i = 0; i < 3; i++) request(limiter, "192.0.2.2", "B" + i);
+        request(limiter, "192.0.2.3", "C0");
+        // 다른 /24 는 영향 없음
+        request(limiter, "192.0.3.1", "D0");
+
+        assertEquals(List.of("A0", "A1", "D0"), admitted);
+        assertEquals(7, limiter.parkedCount());
+
+        for (String name : List.of("A0", "A1", "A2", "B0", "C0", "A3", "B1", "A4")) close(name);
+
+        assertEquals(List.of("A0", "A1", "D0", "A2", "B0", "C0", "A3", "B1", "A4", "B2"), admitted);
+        assertEquals(0, limiter.parkedCount());
+    }
+
+    @Test
+    void ipv6UsesSlash64() throws UnknownHostException {
+        DestinationLimiter limiter = new DestinationLimiter(0, 1);
+        request(limiter, "2001:db8:0:1::1", "x");
+        request(limiter, "2001:db8:0:1:ffff::2", "same64");
+        request(limiter, "2001:db8:0:2::1", "other64");
+
+        assertEquals(List.of("x", "other64"), admitted);
+        assertEquals(1, limiter.parkedCount());
+    }
+
+    @Test
+    void globalSlotIsTakenTogetherWithDestination() throws UnknownHostException {
+        // 전체 슬롯 2개 : 슬롯이 없으면 목적지 허가도 잡지 않고 보류
+        AdaptiveConcurrencyLimiter slots = new AdaptiveConcurrencyLimiter(2, 1, 2);
+        DestinationLimiter limiter = new DestinationLimiter(1, 0, slots);
+        request(limiter, "10.0.0.1", "a0");
+        request(limiter, "10.0.0.2", "b0");
+        request(limiter, "10.0.0.3", "c0");                        // 슬롯 부족 → 보류
+        request(limiter, "10.0.0.1", "a1");                        // IP 상한 → 보류
+
+        assertEquals(List.of("a0", "b0"), admitted);
+        assertEquals(2, slots.getInFlight());
+        assertEquals(2, limiter.parkedCount());
+
+        // b0 반납 → 슬롯이 생겨 c0 허가 (a1 은 여전히 IP 상한)
+        close("b0");
+        assertEquals(List.of("a0", "b0", "c0"), admitted);
+        assertEquals(2, slots.getInFlight());
+
+        // c0 은 10.0.0.3 의 목적지 허가를 쥐지 않은 채 보류되어 있었으므로, 같은 IP 요청이 뒤에 막히지 않음
+        close("a0");
+        assertEquals(List.of("a0", "b0", "c0", "a1"), admitted);
+        close("c0");
+        close("a1");
+        assertEquals(0, slots.getInFlight());
+        assertEquals(0, limiter.parkedCount());
+    }
+
+    @Test
+    void slotWaitersDoNotHoldDestinationPermits() throws UnknownHostException {
+        AdaptiveConcurrencyLimiter slots = new AdaptiveConcurrencyLimiter(1, 1, 1);
+        DestinationLimiter limiter = new DestinationLimiter(1, 0, slots);
+        request(limiter, "10.0.0.1", "busy");
+        request(limiter, "10.0.0.2", "x0");                        // 슬롯 부족으로 보류
+        request(limiter, "10.0.0.2", "x1");                        // 같은 IP 뒤에 줄 섬
+
+        close("busy");
+        assertEquals(List.of("busy", "x0"), admitted);
+        close("x0");
+        assertEquals(List.of("busy", "x0", "x1"), admitted);
+        close("x1");
+        assertEquals(0, slots.getInFlight());
+    }
+
+    private void request(DestinationLimiter limiter, String ip, String name) throws UnknownHostException {
+        limiter.admit(InetAddress.getByName(ip), permit -> {
+            admitted.add(name);
+            permits.add(permit);
+        });
+    }
+
+    private void close(String name) {
+        permits.get(admitted.indexOf(name)).close();
+    }
+}
@@ -0,0 +1,159 @@
+package com.certwatch.schedule;
+
+import com.certwatch.aggregate.AggregateResult;
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.CheckDTO;
+import com.certwatch.service.CheckPipelineService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 정기 실행의 타입 선택, 창 전달, 이전 회차가 진행 중일 때 건너뛰기를 검증합니다.
+ */
+class CertwatchSchedulerTest {
+
+    /** runCycle 호출을 기록하고, gate 가 열릴 때까지 붙잡는 파이프라인 */
+    private static final class StubPipeline implements CheckPipelineService {
+        final List<List<String>> calls = Collections.synchronizedList(new ArrayList<>());
+        final List<Duration> windows = Collections.synchronizedList(new ArrayList<>());
+        final Semaphore started = new Semaphore(0);
+        final Semaphore finished = new Semaphore(0);
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        volatile RuntimeException failure;
+
+        @Override
+        public List<String> types() {
+            return List.of("SSL", "Domain");
+        }
+
+        @Override
+        public Map<String, AggregateResult> runCycle(Collection<String> types, Duration window) {
+            calls.add(new ArrayList<>(types));
+            windows.add(window);
+            started.release();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+                if (failure != null) throw failure;
+                return Map.of();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Map.of();
+            } finally {
+                finished.release();
+            }
+        }
+
+        @Override
+        public List<CheckDTO> checkTargets(String type, List<String> targets) {
+            return List.of();
+        }
+    }
+
+    private final StubPipeline pipeline = new StubPipeline();
+
+    private CertwatchProperties props;
+
+    private CertwatchScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        props = new CertwatchProperties();
+        props.getScheduling().setWindowMinutes(30);
+        scheduler = new CertwatchScheduler(pipeline, props);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.gate.countDown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void runsSelectedTypesWithTheWindow() throws InterruptedException {
+        props.getScheduling().setDomain(false);
+
+        scheduler.scheduledCheck();
+
+        assertTrue(pipeline.finished.tryAcquire(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("SSL")), pipeline.calls);
+        assertEquals(List.of(Duration.ofMinutes(30)), pipeline.windows);
+    }
+
+    @Test
+    void disabledOrEmptySelectionDoesNothing() {
+        props.getScheduling().setEnabled(false);
+        scheduler.scheduledCheck();
+
+        props.getScheduling().setEnabled(true);
+        props.getScheduling().setSsl(false);
+        props.getScheduling().setDomain(false);
+        scheduler.scheduledCheck();
+
+        scheduler.shutdown();
+        assertTrue(pipeline.calls.isEmpty());
+    }
+
+    @Test
+    void overlappingRunIsSkipped() throws InterruptedException {
+        pipeline.gate = new CountDownLatch(1);
+
+        scheduler.scheduledCheck();
+        assertTrue(pipeline.started.tryAcquire(5, TimeUnit.SECONDS));
+        scheduler.scheduledCheck();                               // 아직 진행 중 → 건너뜀
+        scheduler.scheduledCheck();
+
+        pipeline.gate.countDown();
+        assertTrue(pipeline.finished.tryAcquire(5, TimeUnit.SECONDS));
+        assertEquals(1, pipeline.calls.size());
+
+        // 끝난 뒤에는 다시 실행 (running 해제는 runCycle 반환 직후라 잠깐 기다림)
+        awaitNextRun();
+        assertEquals(2, pipeline.calls.size());
+    }
+
+    @Test
+    void failedRunDoesNotBlockTheNextOne() throws InterruptedException {
+        pipeline.failure = new IllegalStateException("commit failed");
+
+        scheduler.scheduledCheck();
+        assertTrue(pipeline.finished.tryAcquire(5, TimeUnit.SECONDS));
+
+        pipeline.failure = null;
+        awaitNextRun();
+        assertEquals(2, pipeline.calls.size());
+    }
+
+    @Test
+    void windowCheckAcceptsAnyCron() {
+        // 창이 주기 이상 (경고만), 잘못된 cron (예외 없음)
+        props.getScheduling().setCron("0 */10 * * * *");
+        scheduler.checkWindow();
+        props.getScheduling().setCron("not a cron");
+        scheduler.checkWindow();
+        assertTrue(pipeline.calls.isEmpty());
+    }
+
+    /** 이전 회차의 running 해제를 기다리며 다음 회차 시작을 시도 */
+    private void awaitNextRun() throws InterruptedException {
+        int before = pipeline.calls.size();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pipeline.calls.size() == before && System.nanoTime() < deadline) {
+            scheduler.scheduledCheck();
+            pipeline.started.tryAcquire(20, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(pipeline.finished.tryAcquire(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,347 @@
+package com.certwatch.service.impl;
+
+import com.certwatch.aggregate.AggregateResult;
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.CheckDTO;
+import com.certwatch.entity.SnapshotDTO;
+import com.certwatch.entity.TargetImportResultDTO;
+import com.certwatch.pipeline.PipelineTarget;
+import com.certwatch.pipeline.ProbePlugin;
+import com.certwatch.service.TargetRegistryService;
+import com.common.notify.Notification;
+import com.common.service.NotificationService;
+import com.common.service.impl.CommonServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 점검 파이프라인(소스 → 해석 → 넘기기 → 허가 요청 → 점검 → 집계)을 대역 플러그인으로 검증합니다.
+ * - 공유 키 합치기, 레인별 동시 점검 수, 플러그인이 보류했다가 넘기는 허가, 도중 실패 시 스필 파일 정리
+ */
+class CheckPipelineServiceImplTest {
+
+    @TempDir
+    Path dir;
+
+    private CertwatchProperties props;
+
+    private CheckPipelineServiceImpl pipeline;
+
+    private ResultStoreServiceImpl store;
+
+    /** 등록 타깃 (대역 TargetRegistryService 가 돌려줌) */
+    private final List<String> targets = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        props = new CertwatchProperties();
+        props.getPipeline().setQueueCapacity(2);
+        props.getPipeline().setResolvers(2);
+        props.getAggregate().setMemoryBudget(4);
+        props.getAggregate().setTopK(3);
+        props.getAggregate().setSpillDir(dir.toString());
+        store = new ResultStoreServiceImpl();
+        ReflectionTestUtils.setField(store, "props", props);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) pipeline.shutdown();
+        store.shutdown();
+    }
+
+    @Test
+    void sharedKeysAreProbedOnce() throws IOException {
+        // 같은 등록 도메인은 한 번만 점검하고 결과를 공유 (대소문자/끝 점만 다른 표기는 소스에서 합침)
+        StubPlugin plugin = new StubPlugin("SSL", 3) {
+            @Override
+            public String coalesceKey(PipelineTarget target) {
+                String name = target.getName();
+                return name.substring(name.indexOf('.') + 1) + ":" + target.getPort();
+            }
+        };
+        targets.addAll(List.of("www.a.example", "api.a.example", "WWW.A.example.", "www.b.example", "api.b.example",
+                "www.c.example", "api.a.example:8443"));
+        start(plugin);
+
+        Map<String, AggregateResult> out = pipeline.runCycle(List.of("SSL"), Duration.ZERO);
+
+        assertEquals(7, out.get("SSL").getTotal());
+        assertEquals(4, plugin.probes.get());                     // a.example:443, b, c, a.example:8443
+        List<CheckDTO> latest = latest("SSL");
+        assertEquals(7, latest.size());
+        assertTrue(latest.stream().allMatch(r -> r.ok));
+        // 공유 결과도 원래 표기로 보관
+        assertTrue(latest.stream().anyMatch(r -> r.host.equals("WWW.A.example.")));
+        assertTrue(latest.stream().anyMatch(r -> r.host.equals("api.a.example") && r.port == 443));
+    }
+
+    @Test
+    void everyLaneDeliversEachTargetOnceWithinItsWorkers() throws IOException {
+        StubPlugin ssl = new StubPlugin("SSL", 3);
+        StubPlugin domain = new StubPlugin("Domain", 1);
+        domain.delayMs = 5;
+        for (int i = 0; i < 40; i++) targets.add("h" + i + ".example" + (i % 3 == 0 ? ":8443" : ""));
+        targets.add("bad target!");
+        start(ssl, domain);
+
+        Map<String, AggregateResult> out = pipeline.runCycle(List.of("SSL", "Domain"), Duration.ZERO);
+
+        for (String type : List.of("SSL", "Domain")) {
+            assertEquals(41, out.get(type).getTotal(), type);
+            assertEquals(1, out.get(type).getFailed(), type);     // 잘못된 형식 라인
+            List<CheckDTO> latest = latest(type);
+            assertEquals(41, latest.stream().map(r -> r.host + ":" + r.port).distinct().count(), type);
+        }
+        assertEquals(40, ssl.probes.get());
+        assertEquals(40, domain.probes.get());
+        assertTrue(ssl.maxActive.get() <= 3, "SSL 동시 점검 수: " + ssl.maxActive.get());
+        assertEquals(1, domain.maxActive.get());
+    }
+
+    @Test
+    void parkedTargetsAreHandedOffOnRelease() throws IOException {
+        // 한 번에 하나만 허가하고 나머지는 보류했다가 반납 시점(점검 스레드)에 넘기는 플러그인
+        GatedPlugin plugin = new GatedPlugin();
+        for (int i = 0; i < 25; i++) targets.add("p" + i + ".example");
+        start(plugin);
+
+        Map<String, AggregateResult> out = pipeline.runCycle(List.of("SSL"), Duration.ZERO);
+
+        assertEquals(25, out.get("SSL").getTotal());
+        assertEquals(0, out.get("SSL").getFailed());
+        assertEquals(25, plugin.probes.get());
+        assertEquals(1, plugin.maxActive.get());
+        assertTrue(plugin.maxParked > 0, "보류된 타깃이 없었습니다.");
+    }
+
+    @Test
+    void probeErrorStillCompletesSharedResult() throws IOException {
+        // 점검을 맡은 타깃이 Error 로 끝나도 같은 키를 기다리던 타깃까지 실패 결과로 전달되고 실행이 끝남
+        StubPlugin plugin = new StubPlugin("SSL", 2) {
+            @Override
+            public String coalesceKey(PipelineTarget target) {
+                return target.getName().startsWith("boom") ? "boom" : target.key();
+            }
+
+            @Override
+            public CheckDTO probe(PipelineTarget target, int timeoutSeconds) {
+                if (target.getName().startsWith("boom")) {
+                    sleep(30);
+                    throw new AssertionError("stub failure");
+                }
+                return super.probe(target, timeoutSeconds);
+            }
+        };
+        targets.addAll(List.of("boom1.example", "boom2.example", "boom3.example", "ok1.example", "ok2.example"));
+        start(plugin);
+
+        Map<String, AggregateResult> out = pipeline.runCycle(List.of("SSL"), Duration.ZERO);
+
+        assertEquals(5, out.get("SSL").getTotal());
+        assertEquals(3, out.get("SSL").getFailed());
+        for (CheckDTO r : latest("SSL")) {
+            if (r.host.startsWith("boom")) assertTrue(r.error.contains("IllegalStateException"), r.error);
+        }
+    }
+
+    @Test
+    void failedCommitDiscardsEveryAggregator() throws IOException {
+        // 두 번째 타입 보관이 실패하면 그 집계와 남은 집계의 스필 파일까지 정리
+        store = new ResultStoreServiceImpl() {
+            @Override
+            public void commitRun(String type, AggregateResult aggregate) {
+                if (type.equals("Domain")) throw new IllegalStateException("stub commit failure");
+                super.commitRun(type, aggregate);
+            }
+        };
+        ReflectionTestUtils.setField(store, "props", props);
+        for (int i = 0; i < 30; i++) targets.add("f" + i + ".example");
+        start(new StubPlugin("SSL", 2), new StubPlugin("Domain", 2), new StubPlugin("Extra", 2));
+
+        assertThrows(IllegalStateException.class,
+                () -> pipeline.runCycle(List.of("SSL", "Domain", "Extra"), Duration.ZERO));
+
+        // 보관된 SSL 집계 파일 1개만 남음
+        assertEquals(30, store.count("SSL"));
+        assertEquals(1, spillFiles().size());
+        store.shutdown();
+        assertTrue(spillFiles().isEmpty());
+    }
+
+    private void start(ProbePlugin... plugins) {
+        pipeline = new CheckPipelineServiceImpl();
+        ReflectionTestUtils.setField(pipeline, "props", props);
+        ReflectionTestUtils.setField(pipeline, "commonService", new CommonServiceImpl());
+        ReflectionTestUtils.setField(pipeline, "targetRegistry", new StubRegistry());
+        ReflectionTestUtils.setField(pipeline, "resultStore", store);
+        ReflectionTestUtils.setField(pipeline, "notificationService", new SilentNotifications());
+        ReflectionTestUtils.setField(pipeline, "plugins", List.of(plugins));
+        pipeline.init();
+    }
+
+    private List<CheckDTO> latest(String type) throws IOException {
+        List<CheckDTO> out = new ArrayList<>();
+        store.forEachLatest(type, out::add);
+        return out;
+    }
+
+    private List<Path> spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** 고정 결과를 돌려주고 동시 점검 수를 기록하는 대역 플러그인 */
+    private static class StubPlugin implements ProbePlugin {
+        final String type;
+        final int workers;
+        final AtomicInteger probes = new AtomicInteger();
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        volatile long delayMs = 2;
+
+        StubPlugin(String type, int workers) {
+            this.type = type;
+            this.workers = workers;
+        }
+
+        @Override
+        public String type() {
+            return type;
+        }
+
+        @Override
+        public int workers() {
+            return workers;
+        }
+
+        @Override
+        public CheckDTO probe(PipelineTarget target, int timeoutSeconds) {
+            probes.incrementAndGet();
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                sleep(delayMs);
+                CheckDTO r = new CheckDTO();
+                r.type = type;
+                r.host = target.getHost();
+                r.port = target.getPort();
+                r.ok = true;
+                r.daysLeft = Math.floorMod(target.getName().hashCode(), 90);
+                r.checkedAt = Instant.now();
+                return r;
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+
+    /** 한 번에 하나만 허가하고 나머지는 보류하는 대역 플러그인 (점검 풀은 넉넉하게) */
+    private static final class GatedPlugin extends StubPlugin {
+        private final Deque<Consumer<Permit>> parked = new ArrayDeque<>();
+        private boolean busy;
+        int maxParked;
+
+        GatedPlugin() {
+            super("SSL", 4);
+        }
+
+        @Override
+        public void admit(PipelineTarget target, Consumer<Permit> admitted) {
+            synchronized (this) {
+                if (busy) {
+                    parked.add(admitted);
+                    maxParked = Math.max(maxParked, parked.size());
+                    return;
+                }
+                busy = true;
+            }
+            admitted.accept(permit());
+        }
+
+        private Permit permit() {
+            AtomicInteger closed = new AtomicInteger();
+            return () -> {
+                if (closed.getAndIncrement() > 0) return;
+                Consumer<Permit> next;
+                synchronized (this) {
+                    next = parked.poll();
+                    if (next == null) busy = false;
+                }
+                if (next != null) next.accept(permit());
+            };
+        }
+    }
+
+    private final class StubRegistry implements TargetRegistryService {
+        @Override
+        public List<String> getTargets() {
+            return new ArrayList<>(targets);
+        }
+
+        @Override
+        public List<String> getImportedTargets() {
+            return List.of();
+        }
+
+        @Override
+        public void setRestoreSource(Supplier<SnapshotDTO> source) {
+        }
+
+        @Override
+        public TargetImportResultDTO importTargets(Reader reader, String format, boolean replace, boolean strict) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /** 활성 채널 없음 (알림 예약 안 함) */
+    private static final class SilentNotifications implements NotificationService {
+        final List<Object> sent = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void notify(CheckDTO r) {
+            sent.add(r);
+        }
+
+        @Override
+        public boolean enqueue(Notification notification) {
+            sent.add(notification);
+            return true;
+        }
+
+        @Override
+        public boolean hasEnabledChannel() {
+            return false;
+        }
+    }
+}
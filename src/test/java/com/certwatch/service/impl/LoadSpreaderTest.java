@@ -0,0 +1,115 @@
+package com.certwatch.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 시작 시각 페이서의 결정적 지터, 토큰 버킷 간격, 창 끝 보장을 가상 시계로 검증합니다.
+ */
+class LoadSpreaderTest {
+
+    /** 잠들면 그만큼 시간이 흐르는 가상 시계 */
+    private static final class VirtualClock implements LoadSpreader.Clock {
+        long now = 1_000_000_000L;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+
+        @Override
+        public void sleepNanos(long nanos) {
+            if (nanos > 0) now += nanos;
+        }
+    }
+
+    private final VirtualClock clock = new VirtualClock();
+
+    @Test
+    void offsetIsDeterministicAndSpread() {
+        long window = 60_000;
+        assertEquals(LoadSpreader.offsetMillis("a.example.com:443", window), LoadSpreader.offsetMillis("a.example.com:443", window));
+        assertEquals(0, LoadSpreader.offsetMillis("a.example.com:443", 0));
+
+        // 비슷한 키 1000개 → 창을 10칸으로 나눠 칸마다 대략 100개
+        int[] buckets = new int[10];
+        for (int i = 0; i < 1000; i++) {
+            long offset = LoadSpreader.offsetMillis("host" + i + ".example.com:443", window);
+            assertTrue(offset >= 0 && offset < window);
+            buckets[(int) (offset * 10 / window)]++;
+        }
+        for (int n : buckets) assertTrue(n > 60 && n < 140, "칸별 분포: " + Arrays.toString(buckets));
+    }
+
+    @Test
+    void startsWaitForTheirOffset() throws InterruptedException {
+        LoadSpreader spreader = new LoadSpreader(60_000, 3, 10, clock);
+        long start = clock.now;
+
+        List<Long> starts = new ArrayList<>();
+        for (long offset : new long[]{100, 5_000, 59_999}) {
+            spreader.await(offset);
+            starts.add(millisSince(start));
+        }
+
+        assertEquals(List.of(100L, 5_000L, 59_999L), starts);
+    }
+
+    @Test
+    void tokenBucketPacesBunchedStarts() throws InterruptedException {
+        // 10개가 모두 0 에 몰림 : burst 2개 후 평균의 1.2배 속도 (1000ms / 12 ≈ 83ms 간격)
+        LoadSpreader spreader = new LoadSpreader(1_000, 10, 2, clock);
+        long start = clock.now;
+
+        List<Long> starts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            spreader.await(0);
+            starts.add(millisSince(start));
+        }
+
+        assertEquals(0, starts.get(0));
+        assertEquals(0, starts.get(1));
+        for (int i = 2; i < starts.size(); i++) {
+            assertEquals(83, starts.get(i) - starts.get(i - 1), 1, "시작 시각: " + starts);
+        }
+        assertTrue(starts.get(9) < 1_000);
+    }
+
+    @Test
+    void everyStartHappensInsideTheWindow() throws InterruptedException {
+        // 100개가 창 끝 10ms 에 몰림 : 기본 속도(8ms 간격)면 창을 800ms 넘기지만, 남은 시간 안에 모두 시작
+        LoadSpreader spreader = new LoadSpreader(1_000, 100, 1, clock);
+        long start = clock.now;
+
+        long previous = 0;
+        for (int i = 0; i < 100; i++) {
+            spreader.await(990);
+            long at = clock.now - start;
+            assertTrue(at >= previous);
+            assertTrue(at >= TimeUnit.MILLISECONDS.toNanos(990));
+            assertTrue(at <= TimeUnit.MILLISECONDS.toNanos(1_000), "창 밖 시작: " + at + " ns");
+            previous = at;
+        }
+    }
+
+    @Test
+    void lateCallsStartImmediatelyAfterTheWindow() throws InterruptedException {
+        LoadSpreader spreader = new LoadSpreader(1_000, 5, 1, clock);
+        clock.now += TimeUnit.MILLISECONDS.toNanos(1_500);       // 앞 단계가 늦어 창이 이미 끝남
+        long before = clock.now;
+
+        for (int i = 0; i < 5; i++) spreader.await(10);
+
+        assertEquals(before, clock.now);
+    }
+
+    private long millisSince(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(clock.now - start);
+    }
+}
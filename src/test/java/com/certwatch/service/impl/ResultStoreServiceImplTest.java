@@ -0,0 +1,155 @@
+package com.certwatch.service.impl;
+
+import com.certwatch.aggregate.AggregateResult;
+import com.certwatch.aggregate.ResultAggregator;
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.CheckDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 결과 보관소의 base(스필된 전체 실행 집계) + overlay(부분 갱신) 병합과 압축, 파일 정리를 작은 메모리 예산으로 검증합니다.
+ */
+class ResultStoreServiceImplTest {
+
+    @TempDir
+    Path dir;
+
+    private CertwatchProperties props;
+
+    private ResultStoreServiceImpl store;
+
+    @BeforeEach
+    void setUp() {
+        props = new CertwatchProperties();
+        props.getAggregate().setMemoryBudget(4);
+        props.getAggregate().setTopK(2);
+        props.getAggregate().setSpillDir(dir.toString());
+        store = new ResultStoreServiceImpl();
+        ReflectionTestUtils.setField(store, "props", props);
+    }
+
+    @Test
+    void overlayReplacesBaseAcrossCompact() throws IOException {
+        // 1) 스필된 전체 실행 20건 (h0~h9, 포트 443/8443)
+        Map<String, CheckDTO> expected = new LinkedHashMap<>();
+        ResultAggregator agg = ResultAggregator.of("SSL", props);
+        for (int i = 0; i < 20; i++) {
+            CheckDTO r = result("h" + (i / 2) + ".example", i % 2 == 0 ? 443 : 8443, 50 + i);
+            agg.accept(r);
+            expected.put(r.host + ":" + r.port, r);
+        }
+        AggregateResult base = agg.finish();
+        assertTrue(base.isSpilled());
+        store.commitRun("SSL", base);
+        assertEquals(20, store.count("SSL"));
+
+        // 2) 부분 갱신 : 기존 2건 교체 + 신규 1건 (예산 이하 → overlay)
+        List<CheckDTO> partial = List.of(
+                result("h3.example", 8443, 1),
+                result("H5.example", 443, 2),
+                result("new.example", 443, 3));
+        store.recordPartial("SSL", partial);
+        expected.put("h3.example:8443", partial.get(0));
+        expected.remove("h5.example:443");
+        expected.put("H5.example:443", partial.get(1));
+        expected.put("new.example:443", partial.get(2));
+        assertEquals(21, store.count("SSL"));
+        assertLatest(expected);
+        assertEquals(1, store.find("SSL", "h3.example", 8443).daysLeft);
+        assertEquals(58, store.find("SSL", "h4.example", 443).daysLeft);
+        assertEquals(1, spillFiles().size());
+
+        // 3) 예산을 넘기면 base 와 병합해 압축 (같은 타깃을 다시 갱신해도 최신 값)
+        List<CheckDTO> more = List.of(
+                result("h3.example", 8443, 0),
+                result("h0.example", 443, 40),
+                result("new2.example", 443, 4));
+        store.recordPartial("SSL", more);
+        expected.put("h3.example:8443", more.get(0));
+        expected.put("h0.example:443", more.get(1));
+        expected.put("new2.example:443", more.get(2));
+        assertEquals(22, store.count("SSL"));
+        assertLatest(expected);
+        assertEquals(0, store.find("SSL", "h3.example", 8443).daysLeft);
+        assertEquals(40, store.find("SSL", "h0.example", 443).daysLeft);
+        assertEquals(4, store.find("SSL", "new2.example", 443).daysLeft);
+        // 압축 후에는 새 base 파일 1개만 남음 (이전 base 는 정리)
+        assertEquals(1, spillFiles().size());
+
+        // 4) 압축 후 부분 갱신도 계속 반영
+        store.recordPartial("SSL", List.of(result("h9.example", 8443, 5)));
+        expected.put("h9.example:8443", result("h9.example", 8443, 5));
+        assertEquals(22, store.count("SSL"));
+        assertLatest(expected);
+
+        store.shutdown();
+        assertTrue(spillFiles().isEmpty());
+    }
+
+    @Test
+    void commitRunReplacesBaseAndOverlay() throws IOException {
+        store.commitRun("SSL", aggregate(10, 0));
+        store.recordPartial("SSL", List.of(result("partial.example", 443, 1)));
+        assertEquals(11, store.count("SSL"));
+
+        // 전체 실행은 이전 base/overlay 를 통째로 교체 (제외된 타깃이 남지 않음)
+        store.commitRun("SSL", aggregate(6, 100));
+        assertEquals(6, store.count("SSL"));
+        assertNull(store.find("SSL", "partial.example", 443));
+        assertEquals(100, store.find("SSL", "h0.example", 443).daysLeft);
+        assertEquals(1, spillFiles().size());
+
+        store.shutdown();
+        assertTrue(spillFiles().isEmpty());
+    }
+
+    private AggregateResult aggregate(int n, long days) {
+        ResultAggregator agg = ResultAggregator.of("SSL", props);
+        for (int i = 0; i < n; i++) agg.accept(result("h" + i + ".example", 443, days + i));
+        return agg.finish();
+    }
+
+    private void assertLatest(Map<String, CheckDTO> expected) throws IOException {
+        List<CheckDTO> want = new ArrayList<>(expected.values());
+        want.sort(ResultAggregator.ORDER);
+        List<CheckDTO> got = new ArrayList<>();
+        store.forEachLatest("SSL", got::add);
+        assertEquals(describe(want), describe(got));
+    }
+
+    private static List<String> describe(List<CheckDTO> results) {
+        List<String> out = new ArrayList<>();
+        for (CheckDTO r : results) out.add(r.host + ":" + r.port + "/" + r.daysLeft);
+        return out;
+    }
+
+    private static CheckDTO result(String host, int port, long daysLeft) {
+        CheckDTO r = new CheckDTO();
+        r.type = "SSL";
+        r.host = host;
+        r.port = port;
+        r.ok = true;
+        r.daysLeft = daysLeft;
+        return r;
+    }
+
+    private List<Path> spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+}
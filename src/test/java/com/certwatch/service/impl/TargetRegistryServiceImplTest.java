@@ -0,0 +1,184 @@
+package com.certwatch.service.impl;
+
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.SnapshotDTO;
+import com.certwatch.entity.TargetImportResultDTO;
+import com.common.service.impl.CommonServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 대량 타깃 임포트(NDJSON/CSV)의 라인별 검증, strict 모드, 교체/병합, 오류 리포트 상한, 정규화를 검증합니다.
+ */
+class TargetRegistryServiceImplTest {
+
+    private TargetRegistryServiceImpl service;
+
+    private CertwatchProperties props;
+
+    @BeforeEach
+    void setUp() {
+        props = new CertwatchProperties();
+        service = new TargetRegistryServiceImpl();
+        ReflectionTestUtils.setField(service, "props", props);
+        ReflectionTestUtils.setField(service, "commonService", new CommonServiceImpl());
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void ndjsonAcceptsHostPortAndTarget() throws IOException {
+        TargetImportResultDTO result = importText("""
+                {"host":"a.example.com","port":8443}
+                {"target":"b.example.com:9443"}
+                {"host":"c.example.com"}
+
+                # 주석
+                {"host":"d.example.com:443","port":443}
+                {"port":443}
+                not json
+                """, "application/x-ndjson", false, false);
+
+        assertEquals("NDJSON", result.format);
+        assertEquals(8, result.lines);
+        assertEquals(3, result.accepted);
+        assertEquals(3, result.rejected);
+        assertTrue(result.applied);
+        assertEquals(List.of(6L, 7L, 8L), result.errors.stream().map(e -> e.line).toList());
+        assertEquals(List.of("a.example.com:8443", "b.example.com:9443", "c.example.com:443"), service.getImportedTargets());
+    }
+
+    @Test
+    void csvAcceptsHeaderAndColumns() throws IOException {
+        TargetImportResultDTO result = importText("""
+                host,port
+                a.example.com
+                "b.example.com", "8443"
+                c.example.com:9443
+                d.example.com,1,2
+                e.example.com,70000
+                """, "text/csv", false, false);
+
+        assertEquals("CSV", result.format);
+        assertEquals(3, result.accepted);
+        assertEquals(2, result.rejected);
+        assertEquals(List.of("a.example.com:443", "b.example.com:8443", "c.example.com:9443"), service.getImportedTargets());
+    }
+
+    @Test
+    void strictModeRejectsWholeBatch() throws IOException {
+        importText("keep.example.com\n", "csv", false, false);
+
+        TargetImportResultDTO result = importText("new.example.com\nbad host!\n", "csv", true, true);
+
+        assertFalse(result.applied);
+        assertEquals(1, result.accepted);
+        assertEquals(1, result.rejected);
+        assertEquals(0, result.inserted);
+        assertEquals(1, result.importedTotal);
+        assertEquals(List.of("keep.example.com:443"), service.getImportedTargets());
+
+        // 오류가 없으면 strict 라도 반영
+        assertTrue(importText("new.example.com\n", "csv", false, true).applied);
+        assertEquals(2, service.getImportedTargets().size());
+    }
+
+    @Test
+    void mergeUpsertsAndReplaceSwapsWholeSet() throws IOException {
+        importText("a.example.com\nb.example.com\n", "csv", false, false);
+
+        TargetImportResultDTO merged = importText("B.Example.com:443\nc.example.com\n", "csv", false, false);
+        assertEquals(1, merged.inserted);
+        assertEquals(1, merged.updated);
+        assertEquals(3, merged.importedTotal);
+        assertEquals(List.of("a.example.com:443", "B.Example.com:443", "c.example.com:443"), service.getImportedTargets());
+
+        TargetImportResultDTO replaced = importText("c.example.com\nd.example.com\n", "csv", true, false);
+        assertEquals(1, replaced.inserted);
+        assertEquals(1, replaced.updated);
+        assertEquals(2, replaced.importedTotal);
+        assertEquals(List.of("c.example.com:443", "d.example.com:443"), service.getImportedTargets());
+    }
+
+    @Test
+    void reportedErrorsAreCappedButAllCounted() throws IOException {
+        StringBuilder body = new StringBuilder("ok.example.com\n");
+        for (int i = 0; i < 1500; i++) body.append("bad_").append(i).append("!,443\n");
+        body.append("x".repeat(300)).append("!\n");
+
+        TargetImportResultDTO result = importText(body.toString(), "csv", false, false);
+
+        assertEquals(1501, result.rejected);
+        assertEquals(1000, result.errors.size());
+        assertEquals(2, result.errors.get(0).line);
+        assertEquals(1001, result.errors.get(999).line);
+        assertTrue(result.applied);
+        assertEquals(List.of("ok.example.com:443"), service.getImportedTargets());
+
+        // 원본 라인은 잘라서 기록
+        TargetImportResultDTO longLine = importText("x".repeat(300) + "!\n", "csv", false, false);
+        assertEquals(203, longLine.errors.get(0).raw.length());
+        assertTrue(longLine.errors.get(0).raw.endsWith("..."));
+    }
+
+    @Test
+    void idnAndIpv6AreNormalized() throws IOException {
+        TargetImportResultDTO result = importText("""
+                {"host":"한글.kr"}
+                {"target":"xn--bj0bj06e.kr:443"}
+                {"target":"[2001:db8::1]:8443"}
+                {"host":"2001:db8::2","port":"0443"}
+                {"host":"2001:db8::3"}
+                {"host":"[2001:db8::4]:443","port":443}
+                {"target":"2001:db8::5:8443x"}
+                """, "ndjson", false, false);
+
+        assertEquals(5, result.accepted);
+        assertEquals(4, result.inserted);                         // 한글.kr 과 punycode 표기는 같은 타깃
+        assertEquals(2, result.rejected);
+        assertEquals(List.of("xn--bj0bj06e.kr:443", "[2001:db8::1]:8443", "[2001:db8::2]:443", "[2001:db8::3]:443"),
+                service.getImportedTargets());
+
+        // CSV 의 host,port 컬럼도 IPv6 는 대괄호로 감쌈
+        importText("2001:db8::6,8443\n", "csv", false, false);
+        assertTrue(service.getImportedTargets().contains("[2001:db8::6]:8443"));
+    }
+
+    @Test
+    void configuredTargetsComeFirstAndWinDuplicates() throws IOException {
+        props.setTargets(List.of("A.example.com", "b.example.com:8443"));
+        importText("a.example.com:443\nc.example.com\n", "csv", false, false);
+
+        assertEquals(List.of("A.example.com:443", "b.example.com:8443", "c.example.com:443"), service.getTargets());
+    }
+
+    @Test
+    void restoredTargetsMergeWithFirstImport() throws IOException {
+        SnapshotDTO snap = new SnapshotDTO();
+        snap.importedTargets.add("old.example.com:443");
+        snap.importedTargets.add("shared.example.com");
+        service.setRestoreSource(() -> snap);
+
+        TargetImportResultDTO result = importText("shared.example.com\nnew.example.com\n", "csv", false, false);
+
+        assertEquals(1, result.updated);
+        assertEquals(1, result.inserted);
+        assertEquals(List.of("old.example.com:443", "shared.example.com:443", "new.example.com:443"), service.getImportedTargets());
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> importText("a.example.com\n", "application/xml", false, false));
+    }
+
+    private TargetImportResultDTO importText(String body, String format, boolean replace, boolean strict) throws IOException {
+        return service.importTargets(new StringReader(body), format, replace, strict);
+    }
+}
@@ -0,0 +1,237 @@
+package com.certwatch.service.impl;
+
+import com.certwatch.config.CertwatchProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WHOIS 폴백을 로컬 대역 서버(43번 포트 흉내, certwatch.whois.servers.kr 로 지정)로 검증합니다.
+ * - 레지스트리별 파서, EUC-KR 응답 디코딩, 캐시, 서버별 동시 연결/요청 간격
+ */
+class WhoisServiceImplTest {
+
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+
+    private ServerSocket server;
+
+    private Thread acceptor;
+
+    /** 질의가 도착한 순서 ([질의, 도착 시각(ns)]) */
+    private final List<Object[]> queries = Collections.synchronizedList(new ArrayList<>());
+
+    /** 질의 → 응답 바이트 (없으면 미등록 응답) */
+    private final Map<String, byte[]> replies = new ConcurrentHashMap<>();
+
+    /** 응답 전 지연(ms) (동시 연결 수 확인용) */
+    private volatile long replyDelayMs;
+
+    /** 동시에 처리 중인 연결 수와 최대값 */
+    private int active;
+    private int maxActive;
+
+    private WhoisServiceImpl service;
+
+    private CertwatchProperties props;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        acceptor = new Thread(this::acceptLoop, "whois-standin");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        props = new CertwatchProperties();
+        CertwatchProperties.Whois whois = props.getWhois();
+        whois.getServers().put("kr", "127.0.0.1:" + server.getLocalPort());
+        whois.setPerServer(1);
+        whois.setMinIntervalMs(0);
+        whois.setTimeoutSeconds(5);
+
+        service = new WhoisServiceImpl();
+        ReflectionTestUtils.setField(service, "props", props);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void kisaKoreanLabelInEucKrIsParsed() throws IOException {
+        // 한글 라벨만 있는 EUC-KR 응답 (UTF-8 로 디코딩하면 라벨이 깨져 만료일을 못 찾음)
+        replies.put("example.co.kr", ("도메인이름                  : example.co.kr\r\n"
+                + "등록일                      : 2001. 05. 10.\r\n"
+                + "사용 종료일                 : 2027. 05. 10.\r\n").getBytes(EUC_KR));
+
+        Instant exp = service.lookupExpiration("example.co.kr");
+
+        assertEquals(Instant.parse("2027-05-10T00:00:00Z"), exp);
+    }
+
+    @Test
+    void utf8ResponseIsKeptAsUtf8() {
+        byte[] raw = "사용 종료일 : 2027. 05. 10.".getBytes(StandardCharsets.UTF_8);
+        assertEquals("사용 종료일 : 2027. 05. 10.", WhoisResponseParser.decode(raw, "kr"));
+
+        byte[] legacy = "사용 종료일 : 2027. 05. 10.".getBytes(EUC_KR);
+        assertEquals("사용 종료일 : 2027. 05. 10.", WhoisResponseParser.decode(legacy, "kr"));
+    }
+
+    @Test
+    void registryParsers() {
+        assertEquals(Instant.parse("2026-03-15T00:00:00Z"),
+                WhoisResponseParser.KISA.parseExpiration("Expiration Date             : 2026. 03. 15.\n"));
+        assertEquals(Instant.parse("2028-09-14T04:00:00Z"),
+                WhoisResponseParser.VERISIGN.parseExpiration("   Registry Expiry Date: 2028-09-14T04:00:00Z\n"));
+        assertEquals(Instant.parse("2026-03-31T00:00:00Z"),
+                WhoisResponseParser.JPRS.parseExpiration("[有効期限]                      2026/03/31\n"));
+        assertEquals(Instant.parse("2025-11-02T00:00:00Z"),
+                WhoisResponseParser.GENERIC.parseExpiration("paid-till: 2025-11-02\n"));
+        // 레지스트리 패턴이 없으면 범용 패턴으로 재시도
+        assertEquals(Instant.parse("2029-01-01T10:00:00Z"),
+                WhoisResponseParser.KISA.parseExpiration("Registry Expiry Date: 2029-01-01 10:00:00\n"));
+        assertNull(WhoisResponseParser.VERISIGN.parseExpiration("Domain Name: EXAMPLE.COM\n"));
+
+        assertTrue(WhoisResponseParser.isNotFound("No match for \"NOPE.COM\"."));
+        assertTrue(WhoisResponseParser.isNotFound("above domain name is not registered"));
+        assertFalse(WhoisResponseParser.isNotFound("Registry Expiry Date: 2028-09-14T04:00:00Z"));
+    }
+
+    @Test
+    void expiryWinsOverNotFoundInFooter() throws IOException {
+        // 등록된 도메인 응답의 꼬리말에 "not found" 문구가 있어도 미등록으로 판단하지 않음
+        replies.put("footer.kr", ("Expiration Date             : 2027. 08. 01.\r\n"
+                + "\r\n"
+                + "If the requested information is NOT FOUND above, please contact the registrar.\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals(Instant.parse("2027-08-01T00:00:00Z"), service.lookupExpiration("footer.kr"));
+
+        // 만료일이 없으면 그대로 미등록
+        IOException e = assertThrows(IOException.class, () -> service.lookupExpiration("gone.kr"));
+        assertTrue(e.getMessage().contains("등록 정보 없음"), e.getMessage());
+    }
+
+    @Test
+    void resultsAreCachedIncludingFailures() throws IOException {
+        replies.put("cached.kr", "Expiration Date : 2027. 01. 02.\n".getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals(Instant.parse("2027-01-02T00:00:00Z"), service.lookupExpiration("cached.kr"));
+        assertEquals(Instant.parse("2027-01-02T00:00:00Z"), service.lookupExpiration("CACHED.kr"));
+        assertThrows(IOException.class, () -> service.lookupExpiration("missing.kr"));
+        assertThrows(IOException.class, () -> service.lookupExpiration("missing.kr"));
+
+        assertEquals(List.of("cached.kr", "missing.kr"), queriesSeen());
+    }
+
+    @Test
+    void requestsToOneServerArePaced() throws IOException {
+        props.getWhois().setMinIntervalMs(200);
+        for (String d : List.of("a.kr", "b.kr", "c.kr")) {
+            replies.put(d, "Expiration Date : 2027. 01. 02.\n".getBytes(StandardCharsets.US_ASCII));
+        }
+
+        for (String d : List.of("a.kr", "b.kr", "c.kr")) service.lookupExpiration(d);
+
+        assertEquals(3, queries.size());
+        for (int i = 1; i < queries.size(); i++) {
+            long gapMs = TimeUnit.NANOSECONDS.toMillis((long) queries.get(i)[1] - (long) queries.get(i - 1)[1]);
+            assertTrue(gapMs >= 180, "요청 간격이 너무 짧습니다: " + gapMs + "ms");
+        }
+    }
+
+    @Test
+    void concurrentConnectionsPerServerAreCapped() throws Exception {
+        props.getWhois().setPerServer(2);
+        replyDelayMs = 150;
+        List<String> domains = List.of("p1.kr", "p2.kr", "p3.kr", "p4.kr", "p5.kr", "p6.kr");
+        for (String d : domains) replies.put(d, "Expiration Date : 2027. 01. 02.\n".getBytes(StandardCharsets.US_ASCII));
+
+        ExecutorService pool = Executors.newFixedThreadPool(domains.size());
+        try {
+            List<Future<Instant>> results = new ArrayList<>();
+            for (String d : domains) results.add(pool.submit(() -> service.lookupExpiration(d)));
+            for (Future<Instant> f : results) assertNotNull(f.get(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(domains.size(), queries.size());
+        synchronized (this) {
+            assertTrue(maxActive <= 2, "동시 연결 상한 초과: " + maxActive);
+        }
+    }
+
+    private List<String> queriesSeen() {
+        List<String> out = new ArrayList<>();
+        synchronized (queries) {
+            for (Object[] q : queries) out.add((String) q[0]);
+        }
+        return out;
+    }
+
+    /** 대역 서버 : 질의 한 줄을 읽고 응답을 쓴 뒤 연결을 닫음 */
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                return;
+            }
+            Thread t = new Thread(() -> handle(socket), "whois-standin-conn");
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    private void handle(Socket socket) {
+        synchronized (this) {
+            active++;
+            maxActive = Math.max(maxActive, active);
+        }
+        try (socket) {
+            try {
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                String query = in.readLine();
+                queries.add(new Object[]{query, System.nanoTime()});
+                if (replyDelayMs > 0) Thread.sleep(replyDelayMs);
+                byte[] reply = replies.getOrDefault(query,
+                        ("No match for \"" + query + "\".\r\n").getBytes(StandardCharsets.US_ASCII));
+                OutputStream out = socket.getOutputStream();
+                out.write(reply);
+                out.flush();
+            } finally {
+                // 연결을 닫기 전에 감소 (클라이언트가 다음 연결을 열기 전에 반영되도록)
+                synchronized (this) {
+                    active--;
+                }
+            }
+        } catch (IOException | InterruptedException ignored) {
+        }
+    }
+}
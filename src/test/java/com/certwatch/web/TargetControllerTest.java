@@ -0,0 +1,85 @@
+package com.certwatch.web;
+
+import com.certwatch.config.CertwatchProperties;
+import com.certwatch.entity.TargetImportResultDTO;
+import com.certwatch.service.impl.TargetRegistryServiceImpl;
+import com.common.service.impl.CommonServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 타깃 임포트 API 의 응답 상태(200 / strict 거부 422 / 형식 오류 415)와 형식 판별을 검증합니다.
+ */
+class TargetControllerTest {
+
+    private TargetController controller;
+
+    private TargetRegistryServiceImpl registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TargetRegistryServiceImpl();
+        ReflectionTestUtils.setField(registry, "props", new CertwatchProperties());
+        ReflectionTestUtils.setField(registry, "commonService", new CommonServiceImpl());
+        ReflectionTestUtils.setField(registry, "objectMapper", new ObjectMapper());
+        controller = new TargetController();
+        ReflectionTestUtils.setField(controller, "targetRegistry", registry);
+    }
+
+    @Test
+    void lineErrorsStillReturnOk() throws IOException {
+        ResponseEntity<TargetImportResultDTO> res = controller.importTargets(
+                request("application/x-ndjson", "{\"host\":\"a.example.com\"}\n{\"port\":1}\n"), null, false, false);
+
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertEquals(1, res.getBody().accepted);
+        assertEquals(1, res.getBody().errors.size());
+        assertEquals(1, registry.getImportedTargets().size());
+    }
+
+    @Test
+    void strictRejectionReturnsUnprocessableEntity() throws IOException {
+        ResponseEntity<TargetImportResultDTO> res = controller.importTargets(
+                request("text/csv", "a.example.com\nb.example.com,99999\n"), null, false, true);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, res.getStatusCode());
+        assertFalse(res.getBody().applied);
+        assertEquals(2, res.getBody().errors.get(0).line);
+        assertTrue(registry.getImportedTargets().isEmpty());
+    }
+
+    @Test
+    void formatParameterOverridesContentType() throws IOException {
+        ResponseEntity<TargetImportResultDTO> res = controller.importTargets(
+                request("application/octet-stream", "a.example.com,8443\n"), "csv", false, false);
+
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertEquals("CSV", res.getBody().format);
+        assertEquals("a.example.com:8443", registry.getImportedTargets().get(0));
+    }
+
+    @Test
+    void unknownFormatReturnsUnsupportedMediaType() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> controller.importTargets(
+                request("application/xml", "<targets/>"), null, false, false));
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getStatusCode());
+    }
+
+    private static MockHttpServletRequest request(String contentType, String body) {
+        MockHttpServletRequest req = new MockHttpServletRequest("POST", "/api/targets/import");
+        req.setContentType(contentType);
+        req.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return req;
+    }
+}
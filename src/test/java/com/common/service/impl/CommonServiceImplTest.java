@@ -0,0 +1,99 @@
+package com.common.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.IDN;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 공통 서비스의 타깃 엄격 파싱(IDN, IPv6, 포트)과 등록 도메인 계산(공개 접미사 목록, ICANN 구간)을 검증합니다.
+ */
+class CommonServiceImplTest {
+
+    private final CommonServiceImpl service = new CommonServiceImpl();
+
+    @Test
+    void parseTargetStrictNormalizesHostAndPort() {
+        assertArrayEquals(new String[]{"example.com", "443"}, service.parseTargetStrict("  example.com "));
+        assertArrayEquals(new String[]{"example.com", "8443"}, service.parseTargetStrict("example.com:08443"));
+        assertArrayEquals(new String[]{"10.0.0.1", "443"}, service.parseTargetStrict("10.0.0.1"));
+        // 국제화 도메인 → punycode
+        assertArrayEquals(new String[]{"xn--bj0bj06e.kr", "443"}, service.parseTargetStrict("한글.kr"));
+        assertArrayEquals(new String[]{IDN.toASCII("www.예시.한국"), "8443"}, service.parseTargetStrict("www.예시.한국:8443"));
+        // IPv6 : 대괄호 표기는 포트 허용, 대괄호 없는 표기는 기본 포트
+        assertArrayEquals(new String[]{"2001:db8::1", "8443"}, service.parseTargetStrict("[2001:db8::1]:8443"));
+        assertArrayEquals(new String[]{"2001:db8::1", "443"}, service.parseTargetStrict("[2001:db8::1]"));
+        assertArrayEquals(new String[]{"::1", "443"}, service.parseTargetStrict("::1"));
+        // 빈 줄, 주석
+        assertNull(service.parseTargetStrict("   "));
+        assertNull(service.parseTargetStrict("# example.com"));
+    }
+
+    @Test
+    void parseTargetStrictRejectsMalformedTargets() {
+        for (String bad : new String[]{"example.com:0", "example.com:65536", "example.com:https", ":443",
+                "bad host", "a_b!.com", "[2001:db8::1", "[2001:db8::1]8443", "[example.com]:443",
+                "2001:db8::zz", "x".repeat(254)}) {
+            assertThrows(IllegalArgumentException.class, () -> service.parseTargetStrict(bad), bad);
+        }
+        // 느슨한 파싱은 같은 입력을 null 로
+        assertNull(service.parseTarget("example.com:0"));
+    }
+
+    @Test
+    void registrableDomainFollowsPublicSuffixList() {
+        assertTrue(PublicSuffixList.jdk().available(), "JDK 번들 공개 접미사 목록을 읽지 못했습니다.");
+
+        assertEquals("example.com", service.registrableDomain("www.example.com"));
+        assertEquals("example.com", service.registrableDomain("WWW.Example.COM."));
+        assertEquals("ofu.co.kr", service.registrableDomain("sys.ofu.co.kr"));
+        assertEquals("example.seoul.kr", service.registrableDomain("www.example.seoul.kr"));
+        assertEquals("example.com.au", service.registrableDomain("a.b.example.com.au"));
+        assertEquals("example.id.au", service.registrableDomain("www.example.id.au"));
+        assertEquals("example.co.uk", service.registrableDomain("shop.example.co.uk"));
+        assertEquals("example.police.uk", service.registrableDomain("www.example.police.uk"));
+        assertEquals("example.co.jp", service.registrableDomain("api.example.co.jp"));
+        assertEquals("example.tokyo.jp", service.registrableDomain("www.example.tokyo.jp"));
+        // 공개 접미사 자체, 단일 레이블
+        assertEquals("co.uk", service.registrableDomain("co.uk"));
+        assertEquals("localhost", service.registrableDomain("localhost"));
+        assertNull(service.registrableDomain(null));
+    }
+
+    @Test
+    void wildcardAndExceptionRules() {
+        // *.sch.uk : 학교 도메인 자체가 공개 접미사
+        assertEquals("www.school.sch.uk", service.registrableDomain("www.school.sch.uk"));
+        // *.kawasaki.jp + !city.kawasaki.jp
+        assertEquals("www.foo.kawasaki.jp", service.registrableDomain("a.www.foo.kawasaki.jp"));
+        assertEquals("city.kawasaki.jp", service.registrableDomain("www.city.kawasaki.jp"));
+    }
+
+    @Test
+    void internationalizedNamesUsePunycode() {
+        String host = IDN.toASCII("www.예시.한국");
+        assertEquals(IDN.toASCII("예시.한국"), service.registrableDomain(host));
+    }
+
+    @Test
+    void privateSuffixesShareTheParentRegistration() {
+        // 사설 구간은 쓰지 않음 : 하위 사이트는 상위 등록 도메인(만료일을 가진 단위)으로 묶임
+        assertEquals("github.io", service.registrableDomain("alice.github.io"));
+        assertEquals("github.io", service.registrableDomain("bob.github.io"));
+        assertEquals("blogspot.com", service.registrableDomain("someone.blogspot.com"));
+    }
+
+    @Test
+    void ipAddressesAreKept() {
+        assertEquals("127.0.0.1", service.registrableDomain("127.0.0.1"));
+        assertEquals("2001:db8::1", service.registrableDomain("2001:db8::1"));
+    }
+
+    @Test
+    void missingListIsReportedUnavailable() {
+        PublicSuffixList psl = PublicSuffixList.load(Path.of("does-not-exist", "public_suffix_list.dat"));
+        assertFalse(psl.available());
+    }
+}
@@ -0,0 +1,237 @@
+package com.common.service.impl;
+
+import com.certwatch.config.CertwatchProperties;
+import com.common.notify.Notification;
+import com.common.notify.TelegramNotifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 알림 발송 레인을 로컬 HTTP 대역 서버(텔레그램 Bot API 흉내)로 검증합니다.
+ * - 429 + retry_after, 5xx 지수 백오프, 4xx 즉시 dead-letter, 종료 시 dead-letter
+ */
+class NotificationServiceImplTest {
+
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+
+    /** 요청이 도착한 시각(ns) */
+    private final List<Long> hits = Collections.synchronizedList(new ArrayList<>());
+
+    /** 순서대로 돌려줄 응답 (비면 200) */
+    private final Deque<Reply> script = new ArrayDeque<>();
+
+    private NotificationServiceImpl service;
+
+    private CertwatchProperties props;
+
+    private record Reply(int status, String body, long delayMs) {
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", ex -> {
+            hits.add(System.nanoTime());
+            Reply r;
+            synchronized (script) {
+                r = script.isEmpty() ? new Reply(200, "{\"ok\":true}", 0) : script.poll();
+            }
+            try {
+                if (r.delayMs() > 0) Thread.sleep(r.delayMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = r.body().getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().add("Content-Type", "application/json");
+            ex.sendResponseHeaders(r.status(), body.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        props = new CertwatchProperties();
+        props.getTelegram().setToken("test-token");
+        props.getTelegram().setChatId("1");
+        props.getTelegram().setApiBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        CertwatchProperties.Notify notify = props.getNotify();
+        notify.setMinIntervalMs(0);
+        notify.setInitialBackoffMs(100);
+        notify.setMaxBackoffMs(1000);
+        notify.setMaxAttempts(5);
+        notify.setRequestTimeoutSeconds(5);
+        notify.setShutdownTimeoutMs(2000);
+        notify.setDeadLetterPath(dir.resolve("dead.ndjson").toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+        server.stop(0);
+    }
+
+    private void start() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        CommonServiceImpl commonService = new CommonServiceImpl();
+
+        TelegramNotifier telegram = new TelegramNotifier();
+        ReflectionTestUtils.setField(telegram, "props", props);
+        ReflectionTestUtils.setField(telegram, "commonService", commonService);
+        ReflectionTestUtils.setField(telegram, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(telegram, "notifyHttpClient",
+                HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build());
+
+        service = new NotificationServiceImpl();
+        ReflectionTestUtils.setField(service, "props", props);
+        ReflectionTestUtils.setField(service, "commonService", commonService);
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "notifiers", List.of(telegram));
+        service.init();
+    }
+
+    private void reply(int status, String body, long delayMs) {
+        synchronized (script) {
+            script.add(new Reply(status, body, delayMs));
+        }
+    }
+
+    private List<String> deadLetters() throws IOException {
+        Path p = dir.resolve("dead.ndjson");
+        return Files.exists(p) ? Files.readAllLines(p, StandardCharsets.UTF_8) : List.of();
+    }
+
+    private static void await(BooleanSupplier condition, long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("시간 안에 조건이 만족되지 않았습니다.");
+            Thread.sleep(20);
+        }
+    }
+
+    private long gapMs(int i) {
+        return TimeUnit.NANOSECONDS.toMillis(hits.get(i) - hits.get(i - 1));
+    }
+
+    @Test
+    void retryAfterFrom429IsHonoured() throws Exception {
+        reply(429, "{\"ok\":false,\"error_code\":429,\"description\":\"Too Many Requests\",\"parameters\":{\"retry_after\":1}}", 0);
+        start();
+
+        assertTrue(service.enqueue(new Notification("hello", null)));
+        await(() -> hits.size() == 2, 5000);
+
+        assertTrue(gapMs(1) >= 950, "retry_after(1초) 전에 재시도함: " + gapMs(1) + "ms");
+        Thread.sleep(200);
+        assertEquals(2, hits.size());
+        assertTrue(deadLetters().isEmpty());
+    }
+
+    @Test
+    void serverErrorsBackOffExponentially() throws Exception {
+        reply(503, "{\"ok\":false,\"description\":\"Service Unavailable\"}", 0);
+        reply(502, "{\"ok\":false,\"description\":\"Bad Gateway\"}", 0);
+        start();
+
+        service.enqueue(new Notification("hello", null));
+        await(() -> hits.size() == 3, 5000);
+
+        assertTrue(gapMs(1) >= 100, "1차 백오프(100ms) 미준수: " + gapMs(1) + "ms");
+        assertTrue(gapMs(2) >= 200, "2차 백오프(200ms) 미준수: " + gapMs(2) + "ms");
+        assertTrue(deadLetters().isEmpty());
+    }
+
+    @Test
+    void clientErrorIsDeadLetteredWithoutRetry() throws Exception {
+        reply(400, "{\"ok\":false,\"description\":\"Bad Request: chat not found\"}", 0);
+        start();
+
+        service.enqueue(new Notification("hello", null));
+        await(() -> {
+            try {
+                return deadLetters().size() == 1;
+            } catch (IOException e) {
+                return false;
+            }
+        }, 5000);
+
+        assertEquals(1, hits.size());
+        assertTrue(deadLetters().get(0).contains("chat not found"));
+    }
+
+    @Test
+    void shutdownDeadLettersPendingRetry() throws Exception {
+        props.getNotify().setInitialBackoffMs(60_000);
+        reply(503, "{\"ok\":false,\"description\":\"Service Unavailable\"}", 0);
+        start();
+
+        service.enqueue(new Notification("pending", null));
+        await(() -> hits.size() == 1, 5000);
+        Thread.sleep(200);                                        // 응답 처리 후 재시도 예약까지
+
+        service.shutdown();
+        service = null;
+
+        List<String> lines = deadLetters();
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("재시도 대기 중"), lines.get(0));
+        assertTrue(lines.get(0).contains("pending"));
+    }
+
+    @Test
+    void shutdownWaitsForInFlightSend() throws Exception {
+        reply(200, "{\"ok\":true}", 500);
+        start();
+
+        service.enqueue(new Notification("slow", null));
+        await(() -> hits.size() == 1, 5000);
+
+        service.shutdown();                                       // 500ms 응답을 기다린 뒤 종료
+        service = null;
+
+        assertTrue(deadLetters().isEmpty());
+    }
+
+    @Test
+    void shutdownDeadLettersSendThatOutlivesTimeout() throws Exception {
+        props.getNotify().setShutdownTimeoutMs(200);
+        reply(200, "{\"ok\":true}", 3000);
+        start();
+
+        service.enqueue(new Notification("stuck", null));
+        await(() -> hits.size() == 1, 5000);
+
+        service.shutdown();
+        service = null;
+
+        List<String> lines = deadLetters();
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("전송 완료 확인 못 함"), lines.get(0));
+    }
+}